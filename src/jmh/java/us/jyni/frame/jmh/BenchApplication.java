@@ -0,0 +1,40 @@
+/*
+ * 
+ */
+package us.jyni.frame.jmh;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import us.jyni.frame.config.JpaConfig;
+
+/**
+ * <p>Application of the benchmarks on an embedded H2 database,
+ *  with the repositories of the framework but without its aspects.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@SpringBootApplication
+@Import(JpaConfig.class)
+public class BenchApplication {
+
+	/**
+	 * @param name of the in-memory database, one per benchmark state.
+	 * @return
+	 */
+	public static ConfigurableApplicationContext start(String name) {
+		return new SpringApplicationBuilder(BenchApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.main.banner-mode=off",
+						"spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"spring.jpa.properties.hibernate.jdbc.batch_size=500",
+						"logging.level.root=WARN")
+				.run();
+	}
+}
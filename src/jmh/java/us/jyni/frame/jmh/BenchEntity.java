@@ -0,0 +1,44 @@
+/*
+ * 
+ */
+package us.jyni.frame.jmh;
+
+import javax.persistence.Entity;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import us.jyni.frame.jpa.BaseEntity;
+
+/**
+ * <p>Entity of the benchmarks.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BenchEntity extends BaseEntity<Long> {
+
+	private static final long serialVersionUID = 3385407466470530713L;
+
+	private String name;
+
+	private int quantity;
+
+	private String status;
+
+	/**
+	 * @param id
+	 * @return
+	 */
+	public static BenchEntity of(long id) {
+
+		BenchEntity entity = new BenchEntity();
+		entity.setId(id);
+		entity.setName("name" + id);
+		entity.setQuantity((int) (id % 100));
+		entity.setStatus(id % 2==0? "A": "B");
+		return entity;
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * 
+ */
+package us.jyni.frame.jmh;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import us.jyni.frame.jpa.FormEntity;
+import us.jyni.frame.jpa.UpdatableEntity;
+
+/**
+ * <p>Form of the benchmarks, for both inserting and updating.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchForm implements FormEntity<BenchEntity>, UpdatableEntity<BenchEntity> {
+
+	private Long id;
+
+	private String name;
+
+	private Integer quantity;
+
+	private String status;
+
+	@Override
+	public boolean ignoreNull() {
+		return true;
+	}
+
+	@Override
+	public BenchEntity getEntity() {
+
+		BenchEntity entity = new BenchEntity();
+		entity.setId(id);
+		entity.setName(name);
+		entity.setQuantity(quantity==null? 0: quantity);
+		entity.setStatus(status);
+		return entity;
+	}
+}
@@ -0,0 +1,14 @@
+/*
+ * 
+ */
+package us.jyni.frame.jmh;
+
+import us.jyni.frame.jpa.GenericRepository;
+
+/**
+ * @author jynius
+ * @Since 2026-10-18
+ */
+public interface BenchRepository extends GenericRepository<BenchEntity, Long> {
+
+}
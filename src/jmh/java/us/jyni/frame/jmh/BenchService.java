@@ -0,0 +1,27 @@
+/*
+ * 
+ */
+package us.jyni.frame.jmh;
+
+import org.springframework.stereotype.Service;
+
+import us.jyni.frame.jpa.GenericService;
+
+/**
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@Service
+public class BenchService implements GenericService<BenchEntity, Long, BenchRepository> {
+
+	private final BenchRepository repository;
+
+	public BenchService(BenchRepository repository) {
+		this.repository = repository;
+	}
+
+	@Override
+	public BenchRepository getRepository() {
+		return repository;
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * 
+ */
+package us.jyni.frame.jmh;
+
+import lombok.Data;
+import us.jyni.frame.jpa.EntityView;
+
+/**
+ * <p>View of the benchmarks, mapped by class or by {@link #of(BenchEntity)}.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@Data
+public class BenchView implements EntityView<BenchEntity> {
+
+	private Long id;
+
+	private String name;
+
+	private int quantity;
+
+	private String status;
+
+	/**
+	 * @param entity
+	 * @return
+	 */
+	public static BenchView of(BenchEntity entity) {
+
+		BenchView view = new BenchView();
+		view.setId(entity.getId());
+		view.setName(entity.getName());
+		view.setQuantity(entity.getQuantity());
+		view.setStatus(entity.getStatus());
+		return view;
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * 
+ */
+package us.jyni.frame.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.jyni.frame.jpa.EntityView;
+import us.jyni.frame.jpa.FormEntity;
+import us.jyni.frame.jpa.UpdatableEntity;
+
+/**
+ * <p>Mapping between entities, views and forms, without a database.
+ *  {@link #updatableOf()} alternates between two forms,
+ *  since setting the values the entities already have would copy nothing.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+	@Param({ "100", "10000" })
+	private int size;
+
+	private List<BenchEntity> entities;
+
+	private List<BenchForm> forms;
+
+	private BenchForm[] updates;
+
+	private int invocations;
+
+	@Setup
+	public void setup() {
+
+		entities = new ArrayList<>(size);
+		forms = new ArrayList<>(size);
+		for(long id=1; id<=size; id++) {
+			entities.add(BenchEntity.of(id));
+			forms.add(new BenchForm(id, "name" + id, (int) id, "A"));
+		}
+
+		updates = new BenchForm[] { new BenchForm(null, "changed", null, "C"), new BenchForm(null, "rechanged", null, "D") };
+	}
+
+	@Benchmark
+	public List<BenchView> viewsByClass() {
+		return EntityView.of(entities, BenchView.class);
+	}
+
+	@Benchmark
+	public List<BenchView> viewsByFunction() {
+		return EntityView.of(entities, BenchView::of);
+	}
+
+	@Benchmark
+	public List<BenchEntity> updatableOf() {
+		return UpdatableEntity.of(entities, updates[invocations++ % updates.length]);
+	}
+
+	@Benchmark
+	public List<BenchEntity> formOf() {
+		return FormEntity.of(forms);
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * 
+ */
+package us.jyni.frame.jmh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import us.jyni.frame.jpa.Filter;
+import us.jyni.frame.jpa.PageableFilter;
+
+/**
+ * <p>{@link BenchService} operations on an embedded H2 database holding {@code rows} entities.
+ *  Inserts work on ids above the seeded ones, and are undone after each iteration or invocation,
+ *  so every measurement sees the same table.
+ *  {@link #changeAll()} alternates the name of seeded ids between two values,
+ *  since setting the value a row already has would update nothing.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+	private static final int BATCH = 100;
+
+	@Param({ "1000", "100000" })
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+
+	private BenchService service;
+
+	private EntityManager entityManager;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final Map<String, Object> map = Collections.singletonMap("status", "A");
+
+	private Filter<BenchEntity> filter;
+
+	private PageableFilter<BenchEntity> pageable;
+
+	private List<Long> ids;
+
+	private final BenchForm[] changes = { new BenchForm(null, "changed", null, null), new BenchForm(null, "rechanged", null, null) };
+
+	private final AtomicLong invocations = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void start() {
+
+		context = BenchApplication.start("bench" + rows);
+		service = context.getBean(BenchService.class);
+		entityManager = context.getBean(EntityManager.class);
+
+		List<BenchForm> forms = new ArrayList<>(rows);
+		for(long id=1; id<=rows; id++) {
+			forms.add(new BenchForm(id, "name" + id, (int) (id % 100), id % 2==0? "A": "B"));
+		}
+		service.insertAll(forms);
+
+		filter = ()->Filter.createSpecification(map);
+		pageable = new Page20(Filter.createSpecification(map));
+		ids = new ArrayList<>(BATCH);
+		for(long id=1; id<=BATCH; id++) {
+			ids.add(id * (rows / BATCH));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	@Setup(Level.Iteration)
+	public void rewind() {
+		sequence.set(rows);
+	}
+
+	@TearDown(Level.Iteration)
+	public void clean() {
+		service.delete(()->(r, q, b)->b.greaterThan(r.get("id"), (long) rows));
+	}
+
+	@Benchmark
+	public Page<BenchView> findPage() {
+		return service.findPage(pageable, BenchView.class);
+	}
+
+	@Benchmark
+	public List<BenchView> findAll() {
+		return service.findAll(filter, BenchView.class);
+	}
+
+	@Benchmark
+	public List<BenchView> saveAll() {
+		return service.saveAll(newForms(), BenchView.class);
+	}
+
+	@Benchmark
+	public List<BenchView> changeAll() {
+		return service.changeAll(ids, changes[(int) (invocations.incrementAndGet() % changes.length)], BenchView.class);
+	}
+
+	@Benchmark
+	public int insertAndDelete() {
+		service.insertAll(newForms());
+		return service.delete(()->(r, q, b)->b.greaterThan(r.get("id"), (long) rows));
+	}
+
+	@Benchmark
+	public Predicate createSpecification() {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<BenchEntity> query = builder.createQuery(BenchEntity.class);
+		Root<BenchEntity> root = query.from(BenchEntity.class);
+		return Filter.<BenchEntity>createSpecification(map).toPredicate(root, query, builder);
+	}
+
+	/**
+	 * @return {@link #BATCH} forms of new ids.
+	 */
+	private List<BenchForm> newForms() {
+
+		List<BenchForm> forms = new ArrayList<>(BATCH);
+		for(int i=0; i<BATCH; i++) {
+			long id = sequence.incrementAndGet();
+			forms.add(new BenchForm(id, "name" + id, 1, "N"));
+		}
+
+		return forms;
+	}
+
+	/**
+	 * <p>The first page of 20, counted exactly.</p>
+	 */
+	private static class Page20 extends PageRequest implements PageableFilter<BenchEntity> {
+
+		private static final long serialVersionUID = -4719256430139268458L;
+
+		private final Specification<BenchEntity> specification;
+
+		Page20(Specification<BenchEntity> specification) {
+			super(0, 20, Sort.by("id"));
+			this.specification = specification;
+		}
+
+		@Override
+		public Specification<BenchEntity> getSpecification() {
+			return specification;
+		}
+
+		@Override
+		public Pageable getPageable() {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * 
+ */
+package us.jyni.frame.config;
+
+import java.time.Duration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * <p>Diagnostics of the SQL statements run per {@link us.jyni.frame.jpa.GenericService} call,
+ *  enabled by {@code frame.jpa.diagnostics.enabled=true}; meant for development and load tests.</p>
+ * <ul>
+ * <li>{@code frame.jpa.diagnostics.max-statements}: statements above which a call is logged, 10 by default.</li>
+ * <li>{@code frame.jpa.diagnostics.max-duration}: duration above which a call is logged, 500ms by default.</li>
+ * </ul>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "frame.jpa.diagnostics", name = "enabled", havingValue = "true")
+public class DiagnosticsConfig {
+
+	/**
+	 * @return registers {@link StatementCounter} as the statement inspector of Hibernate,
+	 *  passing the statements on to the inspector already configured, if any.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer statementCounter() {
+		return properties->properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter(toInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR))));
+	}
+
+	/**
+	 * @param setting the value of {@link AvailableSettings#STATEMENT_INSPECTOR}: an instance, a class or a class name.
+	 * @return null if not set.
+	 * @throws IllegalArgumentException if the setting names no {@link StatementInspector}.
+	 */
+	@Nullable
+	private static StatementInspector toInspector(@Nullable Object setting) {
+
+		if(setting==null || setting instanceof StatementInspector) {
+			return (StatementInspector) setting;
+		}
+
+		Class<?> clazz = setting instanceof Class? (Class<?>) setting: ClassUtils.resolveClassName(setting.toString().trim(), DiagnosticsConfig.class.getClassLoader());
+		if(!StatementInspector.class.isAssignableFrom(clazz)) {
+			throw new IllegalArgumentException(clazz.getName() + " set as " + AvailableSettings.STATEMENT_INSPECTOR + " is not a " + StatementInspector.class.getName());
+		}
+
+		return (StatementInspector) BeanUtils.instantiateClass(clazz);
+	}
+
+	/**
+	 * @param maxStatements
+	 * @param maxDuration
+	 * @return
+	 */
+	@Bean
+	public ServiceDiagnostics serviceDiagnostics(
+			@Value("${frame.jpa.diagnostics.max-statements:10}") int maxStatements,
+			@Value("${frame.jpa.diagnostics.max-duration:500ms}") Duration maxDuration) {
+		return new ServiceDiagnostics(maxStatements, maxDuration);
+	}
+}
@@ -0,0 +1,26 @@
+/**
+ * 
+ */
+package us.jyni.frame.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import us.jyni.frame.FrameApplication;
+import us.jyni.frame.jpa.GenericRepositoryImpl;
+import us.jyni.frame.util.ApplicationContextProvider;
+
+/**
+ * <p>Backs every Spring Data JPA repository with {@link GenericRepositoryImpl},
+ *  and registers {@link ApplicationContextProvider} for it to look up beans like {@link org.springframework.data.domain.AuditorAware}.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@Configuration
+@Import(ApplicationContextProvider.class)
+@EnableJpaRepositories(basePackageClasses = FrameApplication.class, repositoryBaseClass = GenericRepositoryImpl.class)
+public class JpaConfig {
+
+}
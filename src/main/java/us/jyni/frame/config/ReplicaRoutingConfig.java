@@ -0,0 +1,169 @@
+/**
+ * 
+ */
+package us.jyni.frame.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.Filter;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * <p>Routes the read-only transactions to read replicas, enabled by {@code frame.datasource.routing.enabled=true}.
+ *  The primary is configured by {@code spring.datasource}, and every pool takes the settings of {@code spring.datasource.hikari}.</p>
+ * <ul>
+ * <li>{@code frame.datasource.routing.replicas[n].url}, {@code .username}, {@code .password}, {@code .driver-class-name}: the replicas.</li>
+ * <li>{@code frame.datasource.routing.sticky-window}: how long the reads of a thread go to the primary after its write, 2s by default.</li>
+ * </ul>
+ * <p>The pools are beans, {@value #PRIMARY_DATA_SOURCE} and {@value #REPLICA_DATA_SOURCE}{@code n},
+ *  so Spring Boot Actuator reports their metrics and health.
+ *  In a servlet application, the sticky window of a thread is closed at the end of each request.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @see {@link ReplicaRoutingDataSource}
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "frame.datasource.routing", name = "enabled", havingValue = "true")
+@Import(ReplicaRoutingConfig.ReplicaRegistrar.class)
+public class ReplicaRoutingConfig {
+
+	public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+
+	public static final String REPLICA_DATA_SOURCE = "replicaDataSource";
+
+	private static final String REPLICAS = "frame.datasource.routing.replicas";
+
+	/**
+	 * @param properties
+	 * @param environment
+	 * @return the pool of the primary.
+	 */
+	@Bean(PRIMARY_DATA_SOURCE)
+	public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+		return createDataSource(Binder.get(environment), properties, "primary");
+	}
+
+	/**
+	 * @param primary
+	 * @param beanFactory
+	 * @param environment
+	 * @param stickyWindow
+	 * @return
+	 */
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier(PRIMARY_DATA_SOURCE) DataSource primary, BeanFactory beanFactory, Environment environment,
+			@Value("${frame.datasource.routing.sticky-window:2s}") Duration stickyWindow) {
+
+		List<DataSource> replicas = new ArrayList<>();
+		int size = getReplicaProperties(Binder.get(environment)).size();
+		for(int i=0; i<size; i++) {
+			replicas.add(beanFactory.getBean(REPLICA_DATA_SOURCE + i, DataSource.class));
+		}
+
+		return new ReplicaRoutingDataSource(primary, replicas, stickyWindow);
+	}
+
+	/**
+	 * @param routing
+	 * @return the data source of JPA, getting a connection of the routing data source at the first statement.
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource routing) {
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	/**
+	 * @return a filter closing the sticky window of the thread after each request,
+	 *  so the next request served by the thread reads from the replicas.
+	 */
+	@Bean
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	public Filter replicaStickinessFilter() {
+		return (request, response, chain)->{
+			try {
+				chain.doFilter(request, response);
+			}
+			finally {
+				ReplicaRoutingDataSource.clearWritten();
+			}
+		};
+	}
+
+	/**
+	 * @param binder
+	 * @return
+	 */
+	private static List<DataSourceProperties> getReplicaProperties(Binder binder) {
+		return binder.bind(REPLICAS, Bindable.listOf(DataSourceProperties.class)).orElse(List.of());
+	}
+
+	/**
+	 * @param binder
+	 * @param properties
+	 * @param name
+	 * @return
+	 */
+	private static HikariDataSource createDataSource(Binder binder, DataSourceProperties properties, String name) {
+
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+		dataSource.setPoolName(name);
+		return dataSource;
+	}
+
+	/**
+	 * <p>Registers the pool of each replica as a bean, since their number is only known from the properties.</p>
+	 */
+	static class ReplicaRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware {
+
+		private Environment environment;
+
+		@Override
+		public void setEnvironment(Environment environment) {
+			this.environment = environment;
+		}
+
+		@Override
+		public void registerBeanDefinitions(AnnotationMetadata metadata, BeanDefinitionRegistry registry) {
+
+			Binder binder = Binder.get(environment);
+			List<DataSourceProperties> replicas = getReplicaProperties(binder);
+			for(int i=0; i<replicas.size(); i++) {
+
+				DataSourceProperties properties = replicas.get(i);
+				String name = "replica-" + i;
+				registry.registerBeanDefinition(REPLICA_DATA_SOURCE + i, BeanDefinitionBuilder
+						.genericBeanDefinition(HikariDataSource.class, ()->createDataSource(binder, properties, name))
+						.getBeanDefinition());
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * 
+ */
+package us.jyni.frame.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * <p>Routes the connections of read-only transactions to the replicas in turn, and all others to the primary.
+ *  Since the service reads run in read-only transactions, {@code find*}, {@code count} and {@code exists} go to the replicas,
+ *  while {@code save}, {@code change*} and {@code delete*}, and reads joining their transactions, go to the primary.</p>
+ * <p>After a read-write transaction commits, the reads of the same thread go to the primary for the sticky window,
+ *  so a request reads its own writes while the replicas catch up.
+ *  Reads on other threads, like those of {@link us.jyni.frame.jpa.AsyncGenericService}, are not sticky.
+ *  The window is kept per thread, not per request, so a pooled thread would carry it into the next task;
+ *  {@link ReplicaRoutingConfig} closes it after each servlet request,
+ *  and other pooled work, like scheduled or queued tasks, should call {@link #clearWritten()} when done.</p>
+ * <p>The read-only flag is only known after the transaction begins,
+ *  so this must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @see {@link ReplicaRoutingConfig}
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private static final String PRIMARY = "primary";
+
+	private static final ThreadLocal<Long> WRITTEN = new ThreadLocal<>();
+
+	private final List<DataSource> replicas;
+
+	private final long window;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * @param primary
+	 * @param replicas may be empty, then everything goes to the primary.
+	 * @param window the sticky window after a write.
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration window) {
+
+		this.replicas = List.copyOf(replicas);
+		this.window = window.toNanos();
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for(int i=0; i<this.replicas.size(); i++) {
+			targets.put(i, this.replicas.get(i));
+		}
+
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	/**
+	 * <p>Makes the reads of the current thread go to the primary for the sticky window from now.</p>
+	 */
+	public static void markWritten() {
+		WRITTEN.set(System.nanoTime());
+	}
+
+	/**
+	 * <p>Closes the sticky window of the current thread, so its reads go to the replicas again.</p>
+	 */
+	public static void clearWritten() {
+		WRITTEN.remove();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+
+		if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if(TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						markWritten();
+					}
+				});
+			}
+			return PRIMARY;
+		}
+
+		if(replicas.isEmpty() || isSticky()) {
+			return PRIMARY;
+		}
+
+		return Math.floorMod(next.getAndIncrement(), replicas.size());
+	}
+
+	/**
+	 * @return whether the current thread committed a write within the sticky window.
+	 */
+	private boolean isSticky() {
+
+		Long written = WRITTEN.get();
+		if(written==null) {
+			return false;
+		}
+
+		if(System.nanoTime() - written < window) {
+			return true;
+		}
+
+		WRITTEN.remove();
+		return false;
+	}
+}
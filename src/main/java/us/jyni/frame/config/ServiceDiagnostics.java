@@ -0,0 +1,123 @@
+/**
+ * 
+ */
+package us.jyni.frame.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+
+import us.jyni.frame.jpa.EntityView;
+import us.jyni.frame.jpa.Filter;
+import us.jyni.frame.jpa.GenericService;
+
+/**
+ * <p>Warns of the outermost {@link GenericService} calls of a thread which run more SQL statements, or take longer,
+ *  than the thresholds; typically an {@link EntityView#setEntity(Object)} touching lazy associations row by row.
+ *  The warning names the entity, the service and the operation, the {@link Filter} class and the view class.
+ *  It runs outside the transaction of the call, so the statements flushed on commit are counted too,
+ *  and inside {@link ServiceMetrics}.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @see {@link DiagnosticsConfig}
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceDiagnostics {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ServiceDiagnostics.class);
+
+	private final int maxStatements;
+
+	private final long maxNanos;
+
+	private final Map<Class<?>, String> entities = new ConcurrentHashMap<>();
+
+	/**
+	 * @param maxStatements
+	 * @param maxDuration
+	 */
+	public ServiceDiagnostics(int maxStatements, Duration maxDuration) {
+		this.maxStatements = maxStatements;
+		this.maxNanos = maxDuration.toNanos();
+	}
+
+	/**
+	 * @param point
+	 * @return
+	 * @throws Throwable
+	 */
+	@Around("execution(* us.jyni.frame.jpa.GenericService+.*(..))"
+			+ " && !execution(* us.jyni.frame.jpa.GenericService+.get*())"
+			+ " && !execution(* us.jyni.frame.jpa.GenericService+.evict(..))")
+	public Object inspect(ProceedingJoinPoint point) throws Throwable {
+
+		if(!StatementCounter.start()) {
+			return point.proceed();
+		}
+
+		long start = System.nanoTime();
+		try {
+			return point.proceed();
+		}
+		finally {
+
+			long nanos = System.nanoTime() - start;
+			int statements = StatementCounter.stop();
+			if(statements>maxStatements || nanos>maxNanos) {
+				Class<?> service = AopUtils.getTargetClass(point.getTarget());
+				LOG.warn("{} {}.{} ran {} statements in {} ms; filter={}, view={}",
+						entity(service), service.getSimpleName(), point.getSignature().getName(),
+						statements, nanos / 1_000_000, type(point.getArgs(), Filter.class), type(point.getArgs(), Class.class, Function.class));
+			}
+		}
+	}
+
+	/**
+	 * @param service
+	 * @return the name of the entity class of the service.
+	 */
+	private String entity(Class<?> service) {
+		return entities.computeIfAbsent(service, clazz->{
+			Class<?> entity = ResolvableType.forClass(clazz).as(GenericService.class).resolveGeneric(0);
+			return entity==null? "unknown": entity.getName();
+		});
+	}
+
+	/**
+	 * @param args
+	 * @param types
+	 * @return the name of the class of the first argument of the given types; of the argument itself if a class;
+	 *  {@code function} for a function.
+	 */
+	private static String type(Object[] args, Class<?>... types) {
+
+		for(Object arg: args) {
+			for(Class<?> type: types) {
+				if(!type.isInstance(arg)) {
+					continue;
+				}
+				else if(arg instanceof Class) {
+					return ((Class<?>) arg).getName();
+				}
+
+				return arg instanceof Function? "function": arg.getClass().getName();
+			}
+		}
+
+		return "none";
+	}
+}
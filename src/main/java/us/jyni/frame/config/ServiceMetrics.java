@@ -0,0 +1,120 @@
+/**
+ * 
+ */
+package us.jyni.frame.config;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import us.jyni.frame.jpa.GenericService;
+
+/**
+ * <p>Times every operation of the {@link GenericService} beans as {@value #SERVICE} in {@link Metrics#globalRegistry},
+ *  tagged by {@code entity}, {@code operation}, {@code view} and {@code exception}.
+ *  The view is the simple name of the view class argument, {@code function} for a function, or {@code none}.
+ *  The configuration getters and {@link GenericService#evict(java.util.Collection)} are not timed,
+ *  nor are the calls of a service to itself.
+ *  It runs outside the transaction of the call, so the flush and commit are timed too.</p>
+ * <p>The content queries, count queries and mappings inside an operation are timed separately by the jpa package,
+ *  as {@code frame.jpa.query}, {@code frame.jpa.rows} and {@code frame.jpa.mapping}.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+public class ServiceMetrics {
+
+	public static final String SERVICE = "frame.service";
+
+	private final MeterRegistry registry = Metrics.globalRegistry;
+
+	private final Map<Class<?>, String> entities = new ConcurrentHashMap<>();
+
+	private final Map<List<String>, Timer> timers = new ConcurrentHashMap<>();
+
+	/**
+	 * @param point
+	 * @return
+	 * @throws Throwable
+	 */
+	@Around("execution(* us.jyni.frame.jpa.GenericService+.*(..))"
+			+ " && !execution(* us.jyni.frame.jpa.GenericService+.get*())"
+			+ " && !execution(* us.jyni.frame.jpa.GenericService+.evict(..))")
+	public Object time(ProceedingJoinPoint point) throws Throwable {
+
+		Timer.Sample sample = Timer.start(registry);
+		String exception = "none";
+		try {
+			return point.proceed();
+		}
+		catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		}
+		finally {
+			sample.stop(timer(entity(point.getTarget()), point.getSignature().getName(), view(point.getArgs()), exception));
+		}
+	}
+
+	/**
+	 * @param entity
+	 * @param operation
+	 * @param view
+	 * @param exception
+	 * @return the timer of the tags, registered once.
+	 */
+	private Timer timer(String entity, String operation, String view, String exception) {
+		return timers.computeIfAbsent(Arrays.asList(entity, operation, view, exception), k->Timer.builder(SERVICE)
+				.tag("entity", entity)
+				.tag("operation", operation)
+				.tag("view", view)
+				.tag("exception", exception)
+				.register(registry));
+	}
+
+	/**
+	 * @param service
+	 * @return the simple name of the entity class of the service.
+	 */
+	private String entity(Object service) {
+		return entities.computeIfAbsent(AopUtils.getTargetClass(service), clazz->{
+			Class<?> entity = ResolvableType.forClass(clazz).as(GenericService.class).resolveGeneric(0);
+			return entity==null? "unknown": entity.getSimpleName();
+		});
+	}
+
+	/**
+	 * @param args
+	 * @return
+	 */
+	private static String view(Object[] args) {
+
+		for(Object arg: args) {
+			if(arg instanceof Class) {
+				return ((Class<?>) arg).getSimpleName();
+			}
+			else if(arg instanceof Function) {
+				return "function";
+			}
+		}
+
+		return "none";
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * 
+ */
+package us.jyni.frame.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ *  Statements run by other threads, like concurrent counts or chunks, are not counted.
+ *  Passes each statement on to the inspector it replaces, if any.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @see {@link ServiceDiagnostics}
+ */
+public class StatementCounter implements StatementInspector {
+
+	private static final long serialVersionUID = 6403927463018252745L;
+
+	private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+	@Nullable
+	private final StatementInspector next;
+
+	/**
+	 * @param next the inspector replaced by this; null if none.
+	 */
+	public StatementCounter(@Nullable StatementInspector next) {
+		this.next = next;
+	}
+
+	/**
+	 * <p>Starts counting on the current thread, unless already counting.</p>
+	 * 
+	 * @return true if this call started counting, and must {@link #stop()} it.
+	 */
+	public static boolean start() {
+
+		if(COUNT.get()!=null) {
+			return false;
+		}
+
+		COUNT.set(new int[1]);
+		return true;
+	}
+
+	/**
+	 * @return the number of statements since {@link #start()}; 0 if not counting.
+	 */
+	public static int stop() {
+
+		int[] count = COUNT.get();
+		COUNT.remove();
+		return count==null? 0: count[0];
+	}
+
+	@Override
+	public String inspect(String sql) {
+
+		int[] count = COUNT.get();
+		if(count!=null) {
+			count[0]++;
+		}
+
+		return next==null? sql: next.inspect(sql);
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import us.jyni.frame.util.ApplicationContextProvider;
+
+/**
+ * <p>A {@link GenericService} whose read operations also have {@link CompletableFuture} variants,
+ *  so independent queries like {@link #countAsync(Filter)} and {@link #findPageAsync(PageableFilter, Class)} can overlap.
+ *  Each variant runs on {@link #getAsyncExecutor()} in its own read-only transaction,
+ *  so it neither sees nor joins the transaction of the caller, and its entities are detached when it completes.</p>
+ * <p>The variants call the operations on the service itself, not on its Spring proxy,
+ *  so the advice of the proxy, like {@code @Transactional} of the implementing class
+ *  or {@link us.jyni.frame.config.ServiceMetrics}, applies to the variant, which returns once the query is submitted,
+ *  and not to the query; the transaction of the query is that of {@link #getAsyncTransactionTemplate()}.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @param <E> Entity
+ * @param <I> Identity
+ * @param <R> Repository
+ */
+public interface AsyncGenericService<E, I, R extends GenericRepository<E, I>> extends GenericService<E, I, R> {
+
+	/**
+	 * <p>The executor of the asynchronous variants; a bounded pool sized to the connection pool,
+	 *  or a virtual thread per task executor on Java 21 and later.</p>
+	 * 
+	 * @return must not be null.
+	 */
+	public Executor getAsyncExecutor();
+
+	/**
+	 * <p>Called per query, so an override should return a shared instance.
+	 *  The query runs on another thread, so it never finds a transaction to join,
+	 *  but a new transaction is required anyway, in case the executor runs it on the calling thread.</p>
+	 * 
+	 * @return a shared read-only {@link TransactionTemplate} of a new transaction,
+	 *  of the {@link PlatformTransactionManager} bean by default.
+	 */
+	default TransactionTemplate getAsyncTransactionTemplate() {
+		return AsyncTransactionTemplates.of(ApplicationContextProvider.getApplicationContext());
+	}
+
+	/**
+	 * <p>Runs the given query on {@link #getAsyncExecutor()} inside {@link #getAsyncTransactionTemplate()}.</p>
+	 * 
+	 * @param <T>
+	 * @param query
+	 * @return never null; completes exceptionally if the query fails.
+	 */
+	default <T> CompletableFuture<T> supplyAsync(Supplier<T> query) {
+
+		TransactionTemplate template = getAsyncTransactionTemplate();
+		return CompletableFuture.supplyAsync(()->template.execute(status->query.get()), getAsyncExecutor());
+	}
+
+	/**
+	 * @param filter can be null.
+	 * @return
+	 * 
+	 * @see {@link #count(Filter)}
+	 */
+	default CompletableFuture<Long> countAsync(@Nullable Filter<E> filter) {
+		return supplyAsync(()->count(filter));
+	}
+
+	/**
+	 * @param <T>
+	 * @param filter can be null.
+	 * @param function
+	 * @return
+	 * 
+	 * @see {@link #findPage(PageableFilter, Function)}
+	 */
+	default <T> CompletableFuture<Page<T>> findPageAsync(@Nullable PageableFilter<E> filter, Function<E, T> function) {
+		return supplyAsync(()->findPage(filter, function));
+	}
+
+	/**
+	 * @param <D>
+	 * @param filter can be null.
+	 * @param clazz
+	 * @return
+	 * 
+	 * @see {@link #findPage(PageableFilter, Class)}
+	 */
+	default <D extends EntityView<E>> CompletableFuture<Page<D>> findPageAsync(@Nullable PageableFilter<E> filter, Class<D> clazz) {
+		return supplyAsync(()->findPage(filter, clazz));
+	}
+
+	/**
+	 * @param <T>
+	 * @param filter can be null.
+	 * @param function
+	 * @return
+	 * 
+	 * @see {@link #findAll(Filter, Function)}
+	 */
+	default <T> CompletableFuture<List<T>> findAllAsync(@Nullable Filter<E> filter, Function<E, T> function) {
+		return supplyAsync(()->findAll(filter, function));
+	}
+
+	/**
+	 * @param <D>
+	 * @param filter can be null.
+	 * @param clazz
+	 * @return
+	 * 
+	 * @see {@link #findAll(Filter, Class)}
+	 */
+	default <D extends EntityView<E>> CompletableFuture<List<D>> findAllAsync(@Nullable Filter<E> filter, Class<D> clazz) {
+		return supplyAsync(()->findAll(filter, clazz));
+	}
+
+	/**
+	 * @param <T>
+	 * @param ids must not be null nor contain any null values.
+	 * @param function
+	 * @return
+	 * 
+	 * @see {@link #findAllByIds(List, Function)}
+	 */
+	default <T> CompletableFuture<List<T>> findAllByIdsAsync(List<I> ids, Function<E, T> function) {
+		return supplyAsync(()->findAllByIds(ids, function));
+	}
+
+	/**
+	 * @param <D>
+	 * @param ids must not be null nor contain any null values.
+	 * @param clazz
+	 * @return
+	 * 
+	 * @see {@link #findAllByIds(List, Class)}
+	 */
+	default <D extends EntityView<E>> CompletableFuture<List<D>> findAllByIdsAsync(List<I> ids, Class<D> clazz) {
+		return supplyAsync(()->findAllByIds(ids, clazz));
+	}
+
+	/**
+	 * @param <T>
+	 * @param id must not be null.
+	 * @param function
+	 * @return
+	 * 
+	 * @see {@link #findById(Object, Function)}
+	 */
+	default <T> CompletableFuture<Optional<T>> findByIdAsync(I id, Function<E, T> function) {
+		return supplyAsync(()->findById(id, function));
+	}
+
+	/**
+	 * @param <D>
+	 * @param id must not be null.
+	 * @param clazz
+	 * @return
+	 * 
+	 * @see {@link #findById(Object, Class)}
+	 */
+	default <D extends EntityView<E>> CompletableFuture<Optional<D>> findByIdAsync(I id, Class<D> clazz) {
+		return supplyAsync(()->findById(id, clazz));
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * <p>The default templates of {@link AsyncGenericService#getAsyncTransactionTemplate()}, one per application context,
+ *  so the transaction manager is looked up once rather than per call.
+ *  The contexts are weakly referenced, and the template of a context is dropped when it is closed.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+final class AsyncTransactionTemplates {
+
+	private static final Map<ApplicationContext, TransactionTemplate> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private AsyncTransactionTemplates() {}
+
+	/**
+	 * @param context
+	 * @return a read-only template of a new transaction, of the {@link PlatformTransactionManager} bean of the context.
+	 */
+	static TransactionTemplate of(ApplicationContext context) {
+
+		TransactionTemplate template = CACHE.get(context);
+		if(template!=null) {
+			return template;
+		}
+
+		template = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		template.setReadOnly(true);
+
+		synchronized(CACHE) {
+			TransactionTemplate cached = CACHE.putIfAbsent(context, template);
+			if(cached!=null) {
+				return cached;
+			}
+		}
+
+		if(context instanceof ConfigurableApplicationContext) {
+			((ConfigurableApplicationContext) context).addApplicationListener((ApplicationListener<ApplicationEvent>) event->{
+				if(event instanceof ContextClosedEvent && event.getSource()==context) {
+					CACHE.remove(context);
+				}
+			});
+		}
+
+		return template;
+	}
+}
@@ -0,0 +1,236 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * <p>The default constructor and the property accessors of a bean class,
+ *  resolved once per class and compiled with {@link LambdaMetafactory}.
+ *  Falls back to plain reflection when a lambda cannot be spun for a member.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+final class BeanProperties {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BeanProperties.class);
+
+	private static final Map<Class<?>, BeanProperties> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * @param clazz
+	 * @return never null.
+	 */
+	static BeanProperties of(Class<?> clazz) {
+		return CACHE.computeIfAbsent(clazz, BeanProperties::new);
+	}
+
+	private final Class<?> type;
+
+	private final Supplier<Object> constructor;
+
+	private final Map<String, Property> properties;
+
+	private BeanProperties(Class<?> type) {
+
+		this.type = type;
+		this.constructor = constructor(type);
+
+		Map<String, Property> map = new LinkedHashMap<>();
+		for(PropertyDescriptor pd: BeanUtils.getPropertyDescriptors(type)) {
+			if(pd.getReadMethod()==null || pd.getReadMethod().getDeclaringClass()!=Object.class) {
+				map.put(pd.getName(), new Property(pd));
+			}
+		}
+
+		this.properties = Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * @return a new instance created by the default constructor.
+	 * @throws ModelCreationException if the class has no usable default constructor.
+	 */
+	Object newInstance() {
+
+		if(constructor==null) {
+			throw new ModelCreationException("No default constructor: " + type.getName());
+		}
+
+		try {
+			return constructor.get();
+		}
+		catch (RuntimeException e) {
+			throw new ModelCreationException("Failed to instantiate " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * @param name
+	 * @return null if the class has no such property.
+	 */
+	Property get(String name) {
+		return properties.get(name);
+	}
+
+	/**
+	 * @return
+	 */
+	Collection<Property> values() {
+		return properties.values();
+	}
+
+	/**
+	 * @param type
+	 * @return null if the class is abstract or has no default constructor.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Supplier<Object> constructor(Class<?> type) {
+
+		if(type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			return null;
+		}
+
+		Constructor<?> ctor;
+		try {
+			ctor = type.getDeclaredConstructor();
+		}
+		catch (NoSuchMethodException | SecurityException e) {
+			return null;
+		}
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+			CallSite site = LambdaMetafactory.metafactory(
+					lookup,
+					"get",
+					MethodType.methodType(Supplier.class),
+					MethodType.methodType(Object.class),
+					lookup.unreflectConstructor(ctor),
+					MethodType.methodType(type));
+			return (Supplier<Object>) site.getTarget().invokeExact();
+		}
+		catch (Throwable e) {
+			LOG.debug("Reflective constructor for {}", type.getName(), e);
+			return () -> BeanUtils.instantiateClass(ctor);
+		}
+	}
+
+	/**
+	 * @param method
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> getter(Method method) {
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+			CallSite site = LambdaMetafactory.metafactory(
+					lookup,
+					"apply",
+					MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class),
+					lookup.unreflect(method),
+					MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()), method.getDeclaringClass()));
+			return (Function<Object, Object>) site.getTarget().invokeExact();
+		}
+		catch (Throwable e) {
+			LOG.debug("Reflective getter for {}", method, e);
+			ReflectionUtils.makeAccessible(method);
+			return bean -> ReflectionUtils.invokeMethod(method, bean);
+		}
+	}
+
+	/**
+	 * @param method
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private static BiConsumer<Object, Object> setter(Method method) {
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+			CallSite site = LambdaMetafactory.metafactory(
+					lookup,
+					"accept",
+					MethodType.methodType(BiConsumer.class),
+					MethodType.methodType(void.class, Object.class, Object.class),
+					lookup.unreflect(method),
+					MethodType.methodType(void.class, method.getDeclaringClass(), ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0])));
+			return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+		}
+		catch (Throwable e) {
+			LOG.debug("Reflective setter for {}", method, e);
+			ReflectionUtils.makeAccessible(method);
+			return (bean, value) -> ReflectionUtils.invokeMethod(method, bean, value);
+		}
+	}
+
+	/**
+	 * <p>A single bean property with its compiled accessors.</p>
+	 */
+	static final class Property {
+
+		private final PropertyDescriptor descriptor;
+
+		private final Function<Object, Object> getter;
+
+		private final BiConsumer<Object, Object> setter;
+
+		private Property(PropertyDescriptor descriptor) {
+			this.descriptor = descriptor;
+			this.getter = descriptor.getReadMethod()==null? null: getter(descriptor.getReadMethod());
+			this.setter = descriptor.getWriteMethod()==null? null: setter(descriptor.getWriteMethod());
+		}
+
+		String getName() {
+			return descriptor.getName();
+		}
+
+		Class<?> getType() {
+			return descriptor.getPropertyType();
+		}
+
+		PropertyDescriptor getDescriptor() {
+			return descriptor;
+		}
+
+		boolean isReadable() {
+			return getter!=null;
+		}
+
+		boolean isWritable() {
+			return setter!=null;
+		}
+
+		Object read(Object bean) {
+			return getter.apply(bean);
+		}
+
+		void write(Object bean, Object value) {
+			setter.accept(bean, value);
+		}
+	}
+}
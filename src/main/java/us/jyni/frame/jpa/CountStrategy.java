@@ -0,0 +1,50 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+/**
+ * <p>How {@link GenericService#findPage(PageableFilter, Class)} obtains the total number of elements.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @see {@link PageableFilter#getCountStrategy()}
+ */
+public enum CountStrategy {
+
+	/**
+	 * <p>Runs a COUNT query, unless the page itself tells the total.</p>
+	 */
+	EXACT,
+
+	/**
+	 * <p>Runs no COUNT query. Fetches one extra row to tell whether a next page exists;
+	 *  the total is then only a lower bound, enough for {@code hasNext()}.</p>
+	 */
+	NONE,
+
+	/**
+	 * <p>Caches the exact count by the class and {@link Filter#getCacheKey()} of the filter for {@link PageableFilter#getCountTimeToLive()}.
+	 *  Same as {@link #EXACT} if the filter has no cache key.</p>
+	 */
+	CACHED,
+
+	/**
+	 * <p>Uses the row count of the whole table from the database statistics.
+	 *  Meant for unfiltered listings of very large tables.
+	 *  Same as {@link #EXACT} if the filter has a specification, or the database is not supported.</p>
+	 */
+	ESTIMATED,
+
+	/**
+	 * <p>Runs the COUNT query on the executor of the service while the content query runs, on another connection.
+	 *  Meant for slow specifications, where it takes the page about the time of the slower query.
+	 *  The COUNT query runs outside the transaction of the caller, so it does not see its uncommitted changes,
+	 *  and the two queries may see different snapshots.
+	 *  Same as {@link #EXACT} if the service has no executor.</p>
+	 * 
+	 * @see {@link GenericService#getExecutor()}
+	 */
+	CONCURRENT
+}
@@ -3,11 +3,11 @@
  */
 package us.jyni.frame.jpa;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -17,6 +17,7 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 
 /**
  * @author jynius
@@ -27,6 +28,12 @@ public interface EntityView<E> {
 
 	public static final Logger LOG = LoggerFactory.getLogger(EntityView.class);
 
+	/**
+	 * <p>Minimum number of entities mapped in parallel by {@link #of(List, Function, ForkJoinPool)};
+	 *  smaller lists are mapped on the calling thread.</p>
+	 */
+	public static final int PARALLEL_THRESHOLD = 2000;
+
 	/**
 	 * @param <E>
 	 * @param <D>
@@ -61,6 +68,32 @@ public interface EntityView<E> {
 		return clazz==null? Page.empty(): new PageImpl<D>(of(page.getContent(), clazz), page.getPageable(), page.getTotalElements());
 	}
 	
+	/**
+	 * @param <E>
+	 * @param <T>
+	 * @param slice
+	 * @param function
+	 * @return
+	 * 
+	 * @see {@link KeysetSlice}
+	 */
+	public static <E, T> KeysetSlice<T> of(KeysetSlice<E> slice, Function<E, T> function) {
+		return new KeysetSlice<T>(of(slice.getContent(), function), slice.getPageable(), slice.hasNext(), slice.getNextCursor());
+	}
+
+	/**
+	 * @param <E>
+	 * @param <D>
+	 * @param slice
+	 * @param clazz
+	 * @return
+	 * 
+	 * @see {@link KeysetSlice}
+	 */
+	public static <E, D extends EntityView<E>> KeysetSlice<D> of(KeysetSlice<E> slice, Class<D> clazz) {
+		return new KeysetSlice<D>(of(slice.getContent(), clazz), slice.getPageable(), slice.hasNext(), slice.getNextCursor());
+	}
+	
 	/**
 	 * @param <E>
 	 * @param <T>
@@ -69,10 +102,10 @@ public interface EntityView<E> {
 	 * @return
 	 */
 	public static <E, T> List<T> of(List<E> entities, Function<E, T> function) {
-		return entities==null || entities.isEmpty()? Collections.emptyList(): entities.stream()
+		return entities==null || entities.isEmpty()? Collections.emptyList(): JpaMetrics.mapping(null, ()->entities.stream()
 				.map(function)
 				.filter(Objects::nonNull)
-				.collect(Collectors.toList());
+				.collect(Collectors.toList()));
 	}
 	
 	/**
@@ -83,9 +116,58 @@ public interface EntityView<E> {
 	 * @return
 	 */
 	public static <E, D extends EntityView<E>> List<D> of(List<E> entities, Class<D> clazz) {
-		return clazz==null || entities==null || entities.isEmpty()? Collections.emptyList(): entities.stream()
-				.map(e->of(e, clazz))
-				.collect(Collectors.toList());
+		return clazz==null || entities==null || entities.isEmpty()? Collections.emptyList(): JpaMetrics.mapping(clazz, ()->entities.stream()
+				.map(mapper(clazz))
+				.collect(Collectors.toList()));
+	}
+	
+	/**
+	 * <p>Same as {@link #of(List, Function)}, but maps in parallel on the given pool
+	 *  when the list has at least {@link #PARALLEL_THRESHOLD} entities. The order of the entities is preserved.</p>
+	 * <p>The function runs on the threads of the pool, outside the persistence context and the transaction of the caller:
+	 *  it must be thread-safe and must only read the state already loaded,
+	 *  since touching an uninitialized lazy association from another thread fails or corrupts the session.</p>
+	 * 
+	 * @param <E>
+	 * @param <T>
+	 * @param entities
+	 * @param function
+	 * @param pool can be null, to map on the calling thread.
+	 * @return
+	 */
+	public static <E, T> List<T> of(List<E> entities, Function<E, T> function, @Nullable ForkJoinPool pool) {
+		
+		if(pool==null || entities==null || entities.size()<PARALLEL_THRESHOLD) {
+			return of(entities, function);
+		}
+		
+		return JpaMetrics.mapping(null, ()->pool.submit(()->entities.parallelStream()
+				.map(function)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList())).join());
+	}
+	
+	/**
+	 * <p>Same as {@link #of(List, Class)}, but maps in parallel on the given pool
+	 *  when the list has at least {@link #PARALLEL_THRESHOLD} entities. The order of the entities is preserved.</p>
+	 * <p>{@link #setEntity(Object)} runs on the threads of the pool, with the caveats of {@link #of(List, Function, ForkJoinPool)}.</p>
+	 * 
+	 * @param <E>
+	 * @param <D>
+	 * @param entities
+	 * @param clazz
+	 * @param pool can be null, to map on the calling thread.
+	 * @return
+	 */
+	public static <E, D extends EntityView<E>> List<D> of(List<E> entities, Class<D> clazz, @Nullable ForkJoinPool pool) {
+		
+		if(clazz==null || pool==null || entities==null || entities.size()<PARALLEL_THRESHOLD) {
+			return of(entities, clazz);
+		}
+		
+		return JpaMetrics.mapping(clazz, ()->pool.submit(()->entities.parallelStream()
+				.map(mapper(clazz))
+				.collect(Collectors.toList())).join());
 	}
 
 	/**
@@ -118,26 +200,38 @@ public interface EntityView<E> {
 	 * @return must not be null
 	 */
 	public static <E, D extends EntityView<E>> D of(E entity, Class<D> clazz) {
+		return mapper(clazz).apply(entity);
+	}
+
+	/**
+	 * <p>Returns a function which creates a view of the given class for an entity.
+	 *  The constructor of the view class is resolved once and reused for every entity.</p>
+	 * 
+	 * @param <E>
+	 * @param <D>
+	 * @param clazz must not be null.
+	 * @return never null.
+	 * @throws ModelCreationException if the view class has no usable default constructor.
+	 * 
+	 * @see {@link BeanProperties}
+	 */
+	public static <E, D extends EntityView<E>> Function<E, D> mapper(Class<D> clazz) {
 		
-		try {
-			D data = clazz.getDeclaredConstructor().newInstance();
+		BeanProperties properties = BeanProperties.of(clazz);
+		return entity -> {
+			D data = clazz.cast(properties.newInstance());
 			data.setEntity(entity);
 			return data;
-		}
-		catch (InstantiationException | IllegalArgumentException | NoSuchMethodException e) {
-			throw new ModelCreationException();
-		}
-		catch (InvocationTargetException | IllegalAccessException | SecurityException e) {
-			throw new ModelCreationException();
-		}
+		};
 	}
 	
 	/**
 	 * @param entity
 	 * 
 	 * @see {@link BeanUtils#copyProperties(Object, Object)}
+	 * @see {@link PropertyCopier#copy(Object, Object)}
 	 */
 	default void setEntity(E entity) {
-		BeanUtils.copyProperties(entity, this);
+		PropertyCopier.of(entity.getClass(), getClass()).copy(entity, this);
 	}
 }
@@ -3,14 +3,16 @@
  */
 package us.jyni.frame.jpa;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import javax.persistence.criteria.Predicate;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
 
 /**
  * @author jynius
@@ -21,25 +23,86 @@ import org.springframework.data.jpa.domain.Specification;
 public interface Filter<E> {
 
 	/**
+	 * <p>Equality of every entry of the map, read once when created.
+	 *  For other conditions, and paths validated against the metamodel, use {@link SpecificationBuilder}.</p>
+	 * 
 	 * @param <E>
 	 * @param map
 	 * @return
 	 */
 	public static <E> Specification<E> createSpecification(Map<String, Object> map) {
+		
+		String[] keys = new String[map.size()];
+		Object[] values = new Object[map.size()];
+		int n = 0;
+		for(Map.Entry<String, Object> e: map.entrySet()) {
+			keys[n] = e.getKey();
+			values[n++] = e.getValue();
+		}
+		
 		return (r, q, b) -> {
-			List<Predicate> p = map.entrySet().stream()
-				.map(e->b.equal(r.get(e.getKey()), e.getValue()))
-				.collect(Collectors.toList());
-			return b.and(p.toArray(new Predicate[p.size()]));
+			Predicate[] p = new Predicate[keys.length];
+			for(int i=0; i<keys.length; i++) {
+				p[i] = b.equal(r.get(keys[i]), values[i]);
+			}
+			return b.and(p);
 		};
 	}
 	
+	/**
+	 * <p>A {@link #getCacheKey()} for a filter whose specification is {@link #createSpecification(Map)} of the given map.</p>
+	 * 
+	 * @param map
+	 * @return a copy of the map.
+	 */
+	public static Object createCacheKey(Map<String, Object> map) {
+		return new HashMap<>(map);
+	}
+	
 	/**
 	 * @return
 	 */
 	default Sort getSort() {
 		return Sort.unsorted();
 	}
+
+	/**
+	 * <p>Associations to load with the entities, as dotted attribute paths like {@code "owner.address"},
+	 *  so mapping them to views does not issue a query per row.
+	 *  Applied as a load graph to the content query only, never to the count query.
+	 *  When paging, paths through collections are left to batch fetching,
+	 *  since a joined collection would make the page be cut in memory.</p>
+	 * 
+	 * @return empty by default.
+	 * 
+	 * @see {@link GenericRepository#findAll(Filter)}
+	 * @see {@link GenericRepository#findPage(PageableFilter)}
+	 */
+	default List<String> getFetchPaths() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * <p>Name of a {@link javax.persistence.NamedEntityGraph} applied as a load graph to the content query,
+	 *  in addition to {@link #getFetchPaths()}. When paging, its nodes through collections are left to batch fetching too.</p>
+	 * 
+	 * @return null by default.
+	 */
+	@Nullable
+	default String getEntityGraph() {
+		return null;
+	}
+
+	/**
+	 * <p>A key identifying the specification of this filter, for caching its results.
+	 *  Filters whose specifications select the same rows must return equal keys.</p>
+	 * 
+	 * @return null by default, meaning not cacheable.
+	 */
+	@Nullable
+	default Object getCacheKey() {
+		return null;
+	}
 	
 	/**
 	 * @return
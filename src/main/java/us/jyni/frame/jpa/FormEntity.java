@@ -6,6 +6,7 @@ package us.jyni.frame.jpa;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 /**
  * @author jynius
@@ -27,6 +28,22 @@ public interface FormEntity<E> {
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * <p>Same as {@link #of(List)}, but lazily: each entity is made when iterated,
+	 *  so the forms may come from a stream of any length.</p>
+	 * 
+	 * @param <E>
+	 * @param <D>
+	 * @param views must not be null.
+	 * @return
+	 */
+	public static <E, D extends FormEntity<E>> Iterable<E> of(Iterable<D> views) {
+		return () -> StreamSupport.stream(views.spliterator(), false)
+				.filter(FormEntity::valid)
+				.map(FormEntity::getEntity)
+				.iterator();
+	}
+
 	/**
 	 * @return
 	 */
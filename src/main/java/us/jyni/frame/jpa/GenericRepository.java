@@ -3,15 +3,277 @@
  */
 package us.jyni.frame.jpa;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
 
 /**
  * @author jynius
  *
  * @param <E> Entity
  * @param <I> Identity
+ * 
+ * @see {@link GenericRepositoryImpl}
  */
+@NoRepositoryBean
 public interface GenericRepository<E, I> extends JpaSpecificationExecutor<E>, JpaRepository<E, I> {
 
-}
\ No newline at end of file
+	/**
+	 * <p>Default JDBC fetch size, also the number of rows between clearing the persistence context while streaming.</p>
+	 */
+	public static final int FETCH_SIZE = 1000;
+
+	/**
+	 * <p>Maximum number of ids bound to one IN clause; Oracle allows 1000 expressions in a list.</p>
+	 */
+	public static final int IN_CLAUSE_SIZE = 1000;
+
+	/**
+	 * <p>Default JDBC batch size, also the number of entities between flushing and clearing the persistence context while persisting.</p>
+	 */
+	public static final int BATCH_SIZE = 500;
+
+	/**
+	 * @param entity must not be null.
+	 * @return the id of the given entity; null if not assigned yet.
+	 */
+	@Nullable
+	public I getId(E entity);
+
+	/**
+	 * <p>Returns a {@link Stream} of the entities matching the given {@link Filter}, mapped by the given function.
+	 *  Rows are fetched from a scrollable cursor and the persistence context is cleared every {@code fetchSize} rows,
+	 *  so the function should not return the entity itself.
+	 *  In a read-write transaction of the caller, the context is flushed instead and only the streamed entities are detached.
+	 *  Must be consumed inside a transaction and closed after use.</p>
+	 * 
+	 * @param <T>
+	 * @param filter can be null.
+	 * @param function
+	 * @param fetchSize must be positive.
+	 * @return never null. null results of the function are filtered out.
+	 */
+	public <T> Stream<T> stream(@Nullable Filter<E> filter, Function<? super E, ? extends T> function, int fetchSize);
+
+	/**
+	 * <p>Performs the given action for each entity matching the given {@link Filter}.
+	 *  Rows are fetched from a scrollable cursor and the persistence context is cleared every {@code fetchSize} rows.
+	 *  In a read-write transaction of the caller, the context is flushed instead and only the streamed entities are detached.</p>
+	 * 
+	 * @param filter can be null.
+	 * @param action
+	 * @param fetchSize must be positive.
+	 * @return the number of entities.
+	 */
+	public long forEach(@Nullable Filter<E> filter, Consumer<? super E> action, int fetchSize);
+
+	/**
+	 * <p>Returns the slice of entities following {@link KeysetFilter#getCursor()}, fetching one extra row
+	 *  to tell whether a next slice exists. No count query is issued.</p>
+	 * 
+	 * @param filter must not be null.
+	 * @return never null.
+	 * @throws IllegalArgumentException if the cursor does not match the sort of the filter, or the size is not positive.
+	 */
+	public KeysetSlice<E> findSlice(KeysetFilter<E> filter);
+
+	/**
+	 * <p>Returns the entities matching the given {@link Filter} in its {@link Filter#getSort()},
+	 *  loading {@link Filter#getFetchPaths()} and {@link Filter#getEntityGraph()} with them.</p>
+	 * 
+	 * @param filter can be null.
+	 * @return never null.
+	 */
+	public List<E> findAll(@Nullable Filter<E> filter);
+
+	/**
+	 * <p>Returns the single entity matching the given {@link Filter},
+	 *  loading {@link Filter#getFetchPaths()}, except through collections, and {@link Filter#getEntityGraph()} with it.
+	 *  At most two rows are read, unless the entity graph is given, which may join collections;
+	 *  then all the rows are read and each entity is counted once.</p>
+	 * 
+	 * @param filter can be null.
+	 * @return never null.
+	 * @throws org.springframework.dao.IncorrectResultSizeDataAccessException if more than one entity matches.
+	 */
+	public Optional<E> findOne(@Nullable Filter<E> filter);
+
+	/**
+	 * <p>Returns at most the given number of the first entities matching the given {@link Filter}, with no count query.
+	 *  Sorted by {@link Filter#getSort()}, else by the sort of a paged {@link PageableFilter}, which also gives the offset.
+	 *  {@link Filter#getFetchPaths()} and the nodes of {@link Filter#getEntityGraph()} are loaded with them,
+	 *  except those through collections, which are left to batch fetching as in {@link #findPage(PageableFilter)}.</p>
+	 * 
+	 * @param filter can be null.
+	 * @param size
+	 * @return never null.
+	 */
+	public List<E> findTop(@Nullable Filter<E> filter, int size);
+
+	/**
+	 * <p>Probes whether any entity matches the given {@link Filter}, reading at most one id instead of counting.</p>
+	 * 
+	 * @param filter can be null.
+	 * @return
+	 */
+	public boolean exists(@Nullable Filter<E> filter);
+
+	/**
+	 * <p>Returns a {@link Page} of entities matching the given {@link PageableFilter},
+	 *  counting the total as {@link PageableFilter#getCountStrategy()} says.
+	 *  {@link Filter#getFetchPaths()} and the nodes of {@link Filter#getEntityGraph()} are loaded with the content,
+	 *  except those through collections, which are left to batch fetching when paged,
+	 *  since a joined collection would make the page be cut in memory.</p>
+	 * 
+	 * @param filter can be null.
+	 * @return never null.
+	 * 
+	 * @see {@link CountStrategy}
+	 */
+	public Page<E> findPage(@Nullable PageableFilter<E> filter);
+
+	/**
+	 * <p>Same as {@link #findPage(PageableFilter)}, running the COUNT query on the given executor
+	 *  if {@link PageableFilter#getCountStrategy()} is {@link CountStrategy#CONCURRENT}.</p>
+	 * 
+	 * @param filter can be null.
+	 * @param executor can be null, to count on the calling thread.
+	 * @return never null.
+	 */
+	public Page<E> findPage(@Nullable PageableFilter<E> filter, @Nullable Executor executor);
+
+	/**
+	 * <p>Returns a {@link Page} of beans of the given class, selecting only the basic attributes of the entity
+	 *  matching writable properties of the bean. No entity is loaded into the persistence context.</p>
+	 * 
+	 * @param <D>
+	 * @param filter can be null.
+	 * @param clazz must have a default constructor.
+	 * @return never null.
+	 */
+	public <D> Page<D> projectPage(@Nullable PageableFilter<E> filter, Class<D> clazz);
+
+	/**
+	 * <p>Returns all beans of the given class, selecting only the basic attributes of the entity
+	 *  matching writable properties of the bean. No entity is loaded into the persistence context.</p>
+	 * 
+	 * @param <D>
+	 * @param filter can be null.
+	 * @param clazz must have a default constructor.
+	 * @return never null.
+	 */
+	public <D> List<D> projectAll(@Nullable Filter<E> filter, Class<D> clazz);
+
+	/**
+	 * <p>Returns the entities with the given ids, in the order of the ids, with one query per {@link #IN_CLAUSE_SIZE} ids.
+	 *  Each IN list is padded to a power of two by repeating its last id, so the statement cache sees only a few shapes.
+	 *  Duplicate ids are returned once, and ids not found are skipped.</p>
+	 * <p>With an executor, the chunks are queried concurrently;
+	 *  the entities loaded by other threads are then detached, outside the transaction of the caller.</p>
+	 * 
+	 * @param ids must not be null nor contain any null values.
+	 * @param executor can be null, to query the chunks one after another on the calling thread.
+	 * @return never null.
+	 */
+	public List<E> findAllByIds(List<I> ids, @Nullable Executor executor);
+
+	/**
+	 * <p>Deletes the entities matching the given {@link Filter} with a single DELETE statement, without loading them.
+	 *  This kind of operation leaves JPAs first level cache and the database out of sync.
+	 *  The specification is given no {@link javax.persistence.criteria.CriteriaQuery}.</p>
+	 * 
+	 * @param filter can be null, to delete all.
+	 * @return the number of entities deleted.
+	 * @throws IllegalArgumentException if the specification of the filter uses the query.
+	 */
+	public long deleteAllInBatch(@Nullable Filter<E> filter);
+
+	/**
+	 * <p>Deletes the entities with the given ids with one DELETE statement per {@link #IN_CLAUSE_SIZE} ids, without loading them.
+	 *  This kind of operation leaves JPAs first level cache and the database out of sync.</p>
+	 * 
+	 * @param ids must not be null nor contain any null values.
+	 * @return the number of entities deleted.
+	 */
+	public long deleteAllByIdsInBatch(Iterable<I> ids);
+
+	/**
+	 * <p>Updates the entities matching the given {@link Filter} with a single UPDATE statement, without loading them.
+	 *  The SET clause holds the non-null properties of the form matching basic attributes of the entity,
+	 *  except the id, the version and the audit properties of {@link BaseEntity};
+	 *  the version is incremented, and {@link BaseEntity#getModifiedDate()} and {@link BaseEntity#getModifiedBy()} are stamped.
+	 *  This kind of operation leaves JPAs first level cache and the database out of sync.</p>
+	 * 
+	 * @param filter can be null, to update all.
+	 * @param form must not be null.
+	 * @return the number of entities updated.
+	 * @throws IllegalArgumentException if the specification of the filter uses the query.
+	 */
+	public long updateAllInBatch(@Nullable Filter<E> filter, UpdatableEntity<E> form);
+
+	/**
+	 * <p>Updates the entities with the given ids with one UPDATE statement per {@link #IN_CLAUSE_SIZE} ids, without loading them.
+	 *  The SET clause is made as {@link #updateAllInBatch(Filter, UpdatableEntity)} does.
+	 *  This kind of operation leaves JPAs first level cache and the database out of sync.</p>
+	 * 
+	 * @param ids must not be null nor contain any null values.
+	 * @param form must not be null.
+	 * @return the number of entities updated.
+	 */
+	public long updateAllByIdsInBatch(Iterable<I> ids, UpdatableEntity<E> form);
+
+	/**
+	 * <p>Updates the entity with the given id with a single UPDATE statement, without loading it.
+	 *  The SET clause is made as {@link #updateAllInBatch(Filter, UpdatableEntity)} does.
+	 *  If the form has a non-null property named as the version attribute of the entity,
+	 *  only the entity of that version is updated.
+	 *  This kind of operation leaves JPAs first level cache and the database out of sync.</p>
+	 * 
+	 * @param id must not be null.
+	 * @param form must not be null.
+	 * @return 1 if the entity is updated, or 0 if the form has nothing to set or no entity has the id.
+	 * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the version is given but the entity of that version is not found.
+	 */
+	public long updateByIdInBatch(I id, UpdatableEntity<E> form);
+
+	/**
+	 * <p>Persists the given new entities, flushing them as JDBC batches of {@code batchSize}
+	 *  and clearing the persistence context after each batch, so memory stays flat regardless of the number of entities.
+	 *  Uses {@link javax.persistence.EntityManager#persist(Object)}, never merge, so no entity may exist yet.
+	 *  Hibernate does not batch inserts of entities with IDENTITY generated ids.
+	 *  In a read-write transaction of the caller, only the persisted entities are detached instead of clearing,
+	 *  so the other entities of the caller stay managed.</p>
+	 * 
+	 * @param entities must not be null nor contain null. Read only once.
+	 * @param batchSize must be positive.
+	 * @return the number of entities persisted.
+	 */
+	public long persistAll(Iterable<E> entities, int batchSize);
+
+	/**
+	 * <p>Inserts the given entities, or updates the rows of their ids, with a native upsert in JDBC batches of {@code batchSize},
+	 *  so no entity is selected first: {@code INSERT ... ON CONFLICT} on PostgreSQL, {@code INSERT ... ON DUPLICATE KEY UPDATE} on MySQL and MariaDB,
+	 *  and {@code MERGE} on H2. The columns are those of the entity mapping, and only the updatable ones are set on conflict;
+	 *  the audit properties of {@link BaseEntity} are stamped, and those of creation are kept when a row is updated.
+	 *  A numeric version is seeded when a row is inserted and incremented when updated, without being checked.</p>
+	 * <p>Falls back to {@link #save(Object)} per entity on other databases, and for entities of other versions,
+	 *  of more than one table or of an inheritance hierarchy, and of composite ids.
+	 *  Entities without an id are persisted in batches as they come.
+	 *  The persistence context is flushed before, and cleared after;
+	 *  in a read-write transaction of the caller, only the managed entities of the ids written are detached instead.</p>
+	 * 
+	 * @param entities must not be null nor contain null. Read only once.
+	 * @param batchSize must be positive.
+	 * @return the number of entities inserted or updated.
+	 */
+	public long upsertAll(Iterable<E> entities, int batchSize);
+}
@@ -0,0 +1,1391 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.io.Serializable;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.AttributeNode;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Subgraph;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.SingleTableEntityPersister;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import us.jyni.frame.util.ApplicationContextProvider;
+import us.jyni.frame.util.ExpiringCache;
+
+/**
+ * <p>Base class of every {@link GenericRepository}, registered as the {@code repositoryBaseClass}.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ *
+ * @param <E> Entity
+ * @param <I> Identity
+ * 
+ * @see {@link us.jyni.frame.config.JpaConfig}
+ */
+@Transactional(readOnly = true)
+public class GenericRepositoryImpl<E, I> extends SimpleJpaRepository<E, I> implements GenericRepository<E, I> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(GenericRepositoryImpl.class);
+
+	private static final int COUNT_CACHE_SIZE = 1000;
+
+	private static final Collection<String> AUDIT_PROPERTIES = Arrays.asList("createdBy", "createdDate", "modifiedBy", "modifiedDate");
+
+	private final JpaEntityInformation<E, ?> entityInformation;
+
+	private final EntityManager entityManager;
+
+	private final ExpiringCache<Object, Long> countCache = new ExpiringCache<>(COUNT_CACHE_SIZE, Duration.ofMinutes(1));
+
+	private final Map<Class<?>, List<BeanProperties.Property>> projections = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, List<BeanProperties.Property>> updates = new ConcurrentHashMap<>();
+
+	/**
+	 * @param entityInformation
+	 * @param entityManager
+	 */
+	public GenericRepositoryImpl(JpaEntityInformation<E, ?> entityInformation, EntityManager entityManager) {
+		super(entityInformation, entityManager);
+		this.entityInformation = entityInformation;
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * @return
+	 */
+	protected JpaEntityInformation<E, ?> getEntityInformation() {
+		return entityInformation;
+	}
+
+	/**
+	 * @return
+	 */
+	protected EntityManager getEntityManager() {
+		return entityManager;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public I getId(E entity) {
+		return (I) entityInformation.getId(entity);
+	}
+
+	@Override
+	public <T> Stream<T> stream(@Nullable Filter<E> filter, Function<? super E, ? extends T> function, int fetchSize) {
+
+		checkSize(fetchSize);
+		boolean clearable = isClearable();
+		List<E> streamed = new ArrayList<>(fetchSize);
+		return getStreamQuery(filter, fetchSize).getResultStream()
+				.map(e->{
+					T t = function.apply(e);
+					release(e, streamed, clearable, fetchSize);
+					return t;
+				})
+				.filter(Objects::nonNull);
+	}
+
+	@Override
+	public long forEach(@Nullable Filter<E> filter, Consumer<? super E> action, int fetchSize) {
+
+		checkSize(fetchSize);
+		boolean clearable = isClearable();
+		List<E> streamed = new ArrayList<>(fetchSize);
+		long count = 0;
+		try(Stream<E> stream = getStreamQuery(filter, fetchSize).getResultStream()) {
+
+			Iterator<E> iterator = stream.iterator();
+			while(iterator.hasNext()) {
+
+				E entity = iterator.next();
+				action.accept(entity);
+				release(entity, streamed, clearable, fetchSize);
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * @param size
+	 * @throws IllegalArgumentException if the size is not positive.
+	 */
+	private static void checkSize(int size) {
+		if(size<=0) {
+			throw new IllegalArgumentException("Size must be positive: " + size);
+		}
+	}
+
+	/**
+	 * <p>Whether the persistence context may be cleared by the current call:
+	 *  its transaction is read-only, or was begun by the call, or there is none.
+	 *  A read-write transaction of the caller may hold unflushed changes and managed entities of the caller.</p>
+	 * 
+	 * @return
+	 */
+	private static boolean isClearable() {
+
+		if(TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return true;
+		}
+
+		try {
+			return TransactionAspectSupport.currentTransactionStatus().isNewTransaction();
+		}
+		catch (NoTransactionException e) {
+			return !TransactionSynchronizationManager.isActualTransactionActive();
+		}
+	}
+
+	/**
+	 * <p>Releases the entities every {@code size} entities.</p>
+	 * 
+	 * @param entity the entity just streamed or persisted.
+	 * @param entities the entities since the last release.
+	 * @param clearable
+	 * @param size
+	 * 
+	 * @see {@link #release(List, boolean)}
+	 */
+	private void release(E entity, List<E> entities, boolean clearable, int size) {
+
+		entities.add(entity);
+		if(entities.size()>=size) {
+			release(entities, clearable);
+		}
+	}
+
+	/**
+	 * <p>Flushes the persistence context inside a transaction, and then clears it if clearable,
+	 *  or else detaches only the given entities, so the other entities of the caller are kept.</p>
+	 * 
+	 * @param entities the entities since the last release; emptied.
+	 * @param clearable
+	 */
+	private void release(List<E> entities, boolean clearable) {
+
+		if(TransactionSynchronizationManager.isActualTransactionActive()) {
+			entityManager.flush();
+		}
+
+		if(clearable) {
+			entityManager.clear();
+		}
+		else {
+			entities.forEach(entityManager::detach);
+		}
+
+		entities.clear();
+	}
+
+	@Override
+	public KeysetSlice<E> findSlice(KeysetFilter<E> filter) {
+
+		Sort sort = Keyset.sort(filter.getSort(), entityInformation.getIdAttribute().getName());
+		List<String> cursor = Keyset.decode(filter.getCursor());
+		int size = filter.getSize();
+		checkSize(size);
+
+		Specification<E> after = cursor.isEmpty()? null: (r, q, b) -> Keyset.predicate(r, b, sort, cursor);
+		TypedQuery<E> query = getQuery(Specification.where(filter.getSpecification()).and(after), sort);
+		query.setMaxResults(size + 1);
+
+		List<E> content = JpaMetrics.content(getDomainClass(), "findSlice", query::getResultList);
+		boolean hasNext = content.size() > size;
+		if(hasNext) {
+			content = new ArrayList<>(content.subList(0, size));
+		}
+
+		String next = hasNext? Keyset.encode(content.get(size - 1), sort): null;
+		return new KeysetSlice<>(content, PageRequest.of(0, size, sort), hasNext, next);
+	}
+
+	@Override
+	public Page<E> findPage(@Nullable PageableFilter<E> filter) {
+		return findPage(filter, null);
+	}
+
+	@Override
+	public Page<E> findPage(@Nullable PageableFilter<E> filter, @Nullable Executor executor) {
+
+		Specification<E> spec = filter==null? null: filter.getSpecification();
+		Pageable pageable = filter==null? Pageable.unpaged(): filter.getPageable();
+		if(filter==null) {
+			return findAll(spec, pageable);
+		}
+		else if(pageable.isUnpaged()) {
+			TypedQuery<E> query = fetch(getQuery(spec, pageable), filter, false);
+			return new PageImpl<>(distinct(JpaMetrics.content(getDomainClass(), "findPage", query::getResultList)));
+		}
+
+		return readPage(filter, fetch(getQuery(spec, pageable), filter, true), executor);
+	}
+
+	@Override
+	public List<E> findAll(@Nullable Filter<E> filter) {
+
+		if(filter==null) {
+			return JpaMetrics.content(getDomainClass(), "findAll", ()->findAll());
+		}
+
+		TypedQuery<E> query = fetch(getQuery(filter.getSpecification(), filter.getSort()), filter, false);
+		return distinct(JpaMetrics.content(getDomainClass(), "findAll", query::getResultList));
+	}
+
+	@Override
+	public Optional<E> findOne(@Nullable Filter<E> filter) {
+
+		if(filter==null) {
+			return findOne((Specification<E>) null);
+		}
+
+		// a named entity graph is applied whole, so all the rows are read
+		boolean paged = filter.getEntityGraph()==null;
+		TypedQuery<E> query = fetch(getQuery(filter.getSpecification(), Sort.unsorted()), filter, paged);
+		if(paged) {
+			// the fetch paths left join no collection, so each entity is one row
+			query.setMaxResults(2);
+		}
+
+		// a named entity graph may join collections, repeating the entity per element
+		List<E> list = distinct(JpaMetrics.content(getDomainClass(), "findOne", query::getResultList));
+		if(list.size()>1) {
+			throw new IncorrectResultSizeDataAccessException(1, list.size());
+		}
+
+		return list.stream().findFirst();
+	}
+
+	@Override
+	public List<E> findTop(@Nullable Filter<E> filter, int size) {
+
+		Sort sort = filter==null? Sort.unsorted(): filter.getSort();
+		Pageable pageable = filter instanceof PageableFilter? ((PageableFilter<E>) filter).getPageable(): Pageable.unpaged();
+		if(sort.isUnsorted() && pageable.isPaged()) {
+			sort = pageable.getSort();
+		}
+
+		TypedQuery<E> query = getQuery(filter==null? null: filter.getSpecification(), sort);
+		if(filter!=null) {
+			// no collection is joined, so the max results cut no entity's rows
+			fetch(query, filter, true);
+		}
+		if(pageable.isPaged()) {
+			query.setFirstResult((int) pageable.getOffset());
+		}
+		query.setMaxResults(size);
+
+		return JpaMetrics.content(getDomainClass(), "findTop", query::getResultList);
+	}
+
+	@Override
+	public boolean exists(@Nullable Filter<E> filter) {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object> query = builder.createQuery();
+		Root<E> root = query.from(getDomainClass());
+		query.select(root.get(entityInformation.getIdAttribute().getName()));
+
+		Specification<E> spec = filter==null? null: filter.getSpecification();
+		if(spec!=null) {
+			Predicate predicate = spec.toPredicate(root, query, builder);
+			if(predicate!=null) {
+				query.where(predicate);
+			}
+		}
+
+		return !entityManager.createQuery(query).setMaxResults(1).getResultList().isEmpty();
+	}
+
+	/**
+	 * <p>Applies {@link Filter#getEntityGraph()} and {@link Filter#getFetchPaths()} to the given content query as a load graph.</p>
+	 * 
+	 * @param <T>
+	 * @param query
+	 * @param filter
+	 * @param paged if true, paths and entity graph nodes through collections are left to batch fetching,
+	 *  since a joined collection repeats the rows of an entity, and the first and max results would cut them.
+	 * @return the query.
+	 */
+	private <T> TypedQuery<T> fetch(TypedQuery<T> query, Filter<E> filter, boolean paged) {
+
+		List<String> paths = filter.getFetchPaths();
+		String name = filter.getEntityGraph();
+		if(paths.isEmpty() && name==null) {
+			return query;
+		}
+
+		EntityGraph<?> graph;
+		if(name==null) {
+			graph = entityManager.createEntityGraph(getDomainClass());
+		}
+		else if(paged) {
+			graph = entityManager.createEntityGraph(getDomainClass());
+			addSingular(entityManager.getEntityGraph(name).getAttributeNodes(), getDomainClass(), graph::addAttributeNodes, graph::addSubgraph);
+		}
+		else {
+			graph = entityManager.createEntityGraph(name);
+		}
+
+		Map<String, Subgraph<?>> subgraphs = new HashMap<>();
+		for(String path: paths) {
+
+			if(paged && isCollection(path)) {
+				continue;
+			}
+
+			String[] names = path.split("\\.");
+			Subgraph<?> parent = null;
+			for(int i=0; i<names.length - 1; i++) {
+
+				String prefix = String.join(".", Arrays.copyOf(names, i + 1));
+				Subgraph<?> owner = parent;
+				String attribute = names[i];
+				parent = subgraphs.computeIfAbsent(prefix, k->owner==null? graph.addSubgraph(attribute): owner.addSubgraph(attribute));
+			}
+
+			if(parent==null) {
+				graph.addAttributeNodes(names[names.length - 1]);
+			}
+			else {
+				parent.addAttributeNodes(names[names.length - 1]);
+			}
+		}
+
+		query.setHint(GraphSemantic.LOAD.getJpaHintName(), graph);
+		return query;
+	}
+
+	/**
+	 * <p>Adds the given nodes of an entity graph, and those of their subgraphs, except the collections and what is under them.</p>
+	 * 
+	 * @param nodes
+	 * @param type the class the nodes belong to.
+	 * @param node adds an attribute node to the target graph.
+	 * @param subgraph adds a subgraph to the target graph.
+	 */
+	private void addSingular(List<AttributeNode<?>> nodes, Class<?> type, Consumer<String> node, Function<String, Subgraph<?>> subgraph) {
+
+		ManagedType<?> managed = entityManager.getMetamodel().managedType(type);
+		for(AttributeNode<?> attribute: nodes) {
+
+			String name = attribute.getAttributeName();
+			if(managed.getAttribute(name).isCollection()) {
+				continue;
+			}
+
+			Map<Class, Subgraph> subgraphs = attribute.getSubgraphs();
+			if(subgraphs.isEmpty()) {
+				node.accept(name);
+				continue;
+			}
+
+			Subgraph<?> target = subgraph.apply(name);
+			for(Subgraph<?> source: subgraphs.values()) {
+				addSingular(source.getAttributeNodes(), source.getClassType(), target::addAttributeNodes, target::addSubgraph);
+			}
+		}
+	}
+
+	/**
+	 * @param path
+	 * @return true if the path goes through a collection.
+	 */
+	private boolean isCollection(String path) {
+
+		Metamodel metamodel = entityManager.getMetamodel();
+		ManagedType<?> type = metamodel.managedType(getDomainClass());
+		String[] names = path.split("\\.");
+		for(int i=0; i<names.length; i++) {
+
+			Attribute<?, ?> attribute = type.getAttribute(names[i]);
+			if(attribute.isCollection()) {
+				return true;
+			}
+			else if(i<names.length - 1) {
+				type = metamodel.managedType(attribute.getJavaType());
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param list
+	 * @return the list without the repeated entities a joined collection leaves.
+	 */
+	private static <E> List<E> distinct(List<E> list) {
+
+		Set<E> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		return list.stream().filter(seen::add).collect(Collectors.toList());
+	}
+
+	@Override
+	public <D> Page<D> projectPage(@Nullable PageableFilter<E> filter, Class<D> clazz) {
+
+		List<BeanProperties.Property> properties = getProjection(clazz);
+		Pageable pageable = filter==null? Pageable.unpaged(): filter.getPageable();
+		TypedQuery<Tuple> query = getProjectionQuery(filter, pageable.getSort(), properties);
+
+		Page<Tuple> page = filter==null || pageable.isUnpaged()? new PageImpl<>(JpaMetrics.content(getDomainClass(), "projectPage", query::getResultList)): readPage(filter, query);
+		return page.map(tuple->project(tuple, clazz, properties));
+	}
+
+	@Override
+	public <D> List<D> projectAll(@Nullable Filter<E> filter, Class<D> clazz) {
+
+		List<BeanProperties.Property> properties = getProjection(clazz);
+		TypedQuery<Tuple> query = getProjectionQuery(filter, filter==null? Sort.unsorted(): filter.getSort(), properties);
+
+		return JpaMetrics.content(getDomainClass(), "projectAll", query::getResultList).stream()
+				.map(tuple->project(tuple, clazz, properties))
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public List<E> findAllByIds(List<I> ids, @Nullable Executor executor) {
+
+		List<List<I>> chunks = partition(new LinkedHashSet<>(ids), IN_CLAUSE_SIZE);
+
+		List<E> entities = new ArrayList<>(ids.size());
+		if(executor==null || chunks.size()<2) {
+			chunks.forEach(chunk->entities.addAll(findAllByChunk(chunk)));
+		}
+		else {
+			chunks.stream()
+				.map(chunk->CompletableFuture.supplyAsync(()->findAllByChunk(chunk), executor))
+				.collect(Collectors.toList())
+				.forEach(future->entities.addAll(future.join()));
+		}
+
+		Map<Object, E> index = new HashMap<>(entities.size() * 2);
+		entities.forEach(entity->index.put(getId(entity), entity));
+
+		List<E> list = new ArrayList<>(index.size());
+		for(I id: new LinkedHashSet<>(ids)) {
+
+			E entity = index.get(id);
+			if(entity!=null) {
+				list.add(entity);
+			}
+		}
+
+		return list;
+	}
+
+	/**
+	 * @param chunk at most {@link #IN_CLAUSE_SIZE} ids; padded in place.
+	 * @return the entities found, in any order.
+	 */
+	private List<E> findAllByChunk(List<I> chunk) {
+
+		int size = Math.min(Integer.highestOneBit(chunk.size() * 2 - 1), IN_CLAUSE_SIZE);
+		I last = chunk.get(chunk.size() - 1);
+		while(chunk.size()<size) {
+			chunk.add(last);
+		}
+
+		// bound as one list parameter, since Hibernate would inline numeric ids as literals, making a statement per set of ids
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<E> query = builder.createQuery(getDomainClass());
+		Root<E> root = query.from(getDomainClass());
+		ParameterExpression<Collection> parameter = builder.parameter(Collection.class);
+		query.select(root).where(root.get(entityInformation.getIdAttribute().getName()).in(parameter));
+
+		return JpaMetrics.content(getDomainClass(), "findAllByIds", entityManager.createQuery(query).setParameter(parameter, chunk)::getResultList);
+	}
+
+	@Override
+	@Transactional
+	public long deleteAllInBatch(@Nullable Filter<E> filter) {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaDelete<E> delete = builder.createCriteriaDelete(getDomainClass());
+		Root<E> root = delete.from(getDomainClass());
+
+		Specification<E> spec = filter==null? null: filter.getSpecification();
+		if(spec!=null) {
+			Predicate predicate = toBulkPredicate(spec, root, builder);
+			if(predicate!=null) {
+				delete.where(predicate);
+			}
+		}
+
+		return entityManager.createQuery(delete).executeUpdate();
+	}
+
+	/**
+	 * <p>A bulk DELETE or UPDATE has no {@link CriteriaQuery}, so the specification is given a stand-in
+	 *  failing on any use, rather than null, so a NullPointerException of the specification itself is not mistaken for it.</p>
+	 * 
+	 * @param spec
+	 * @param root
+	 * @param builder
+	 * @return
+	 * @throws IllegalArgumentException if the specification uses the query, for a subquery or distinct.
+	 */
+	@Nullable
+	private Predicate toBulkPredicate(Specification<E> spec, Root<E> root, CriteriaBuilder builder) {
+
+		CriteriaQuery<?> query = (CriteriaQuery<?>) Proxy.newProxyInstance(CriteriaQuery.class.getClassLoader(), new Class<?>[] { CriteriaQuery.class }, (proxy, method, args)->{
+			switch(method.getName()) {
+			case "equals":
+				return proxy==args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "no CriteriaQuery of a bulk statement";
+			default:
+				throw new IllegalArgumentException("Specification " + spec.getClass().getName() + " uses the query by " + method.getName()
+						+ ", which a bulk DELETE or UPDATE of " + getDomainClass().getName() + " does not have");
+			}
+		});
+
+		return spec.toPredicate(root, query, builder);
+	}
+
+	@Override
+	@Transactional
+	public long deleteAllByIdsInBatch(Iterable<I> ids) {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		String id = entityInformation.getIdAttribute().getName();
+
+		long count = 0;
+		for(List<I> chunk: partition(ids, IN_CLAUSE_SIZE)) {
+
+			CriteriaDelete<E> delete = builder.createCriteriaDelete(getDomainClass());
+			delete.where(delete.from(getDomainClass()).get(id).in(chunk));
+			count += entityManager.createQuery(delete).executeUpdate();
+		}
+
+		return count;
+	}
+
+	@Override
+	@Transactional
+	public long updateAllInBatch(@Nullable Filter<E> filter, UpdatableEntity<E> form) {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<E> update = getUpdate(builder, form);
+		if(update==null) {
+			return 0;
+		}
+
+		Specification<E> spec = filter==null? null: filter.getSpecification();
+		if(spec!=null) {
+			Predicate predicate = toBulkPredicate(spec, update.getRoot(), builder);
+			if(predicate!=null) {
+				update.where(predicate);
+			}
+		}
+
+		return entityManager.createQuery(update).executeUpdate();
+	}
+
+	@Override
+	@Transactional
+	public long updateAllByIdsInBatch(Iterable<I> ids, UpdatableEntity<E> form) {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		String id = entityInformation.getIdAttribute().getName();
+
+		long count = 0;
+		for(List<I> chunk: partition(ids, IN_CLAUSE_SIZE)) {
+
+			CriteriaUpdate<E> update = getUpdate(builder, form);
+			if(update==null) {
+				return 0;
+			}
+
+			update.where(update.getRoot().get(id).in(chunk));
+			count += entityManager.createQuery(update).executeUpdate();
+		}
+
+		return count;
+	}
+
+	@Override
+	@Transactional
+	public long updateByIdInBatch(I id, UpdatableEntity<E> form) {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<E> update = getUpdate(builder, form);
+		if(update==null) {
+			return 0;
+		}
+
+		Predicate predicate = builder.equal(update.getRoot().get(entityInformation.getIdAttribute().getName()), id);
+
+		SingularAttribute<? super E, ?> version = getVersionAttribute();
+		BeanProperties.Property property = version==null? null: BeanProperties.of(form.getClass()).get(version.getName());
+		Object expected = property==null || !property.isReadable()? null: property.read(form);
+		if(expected!=null) {
+			predicate = builder.and(predicate, builder.equal(update.getRoot().get(version.getName()), expected));
+		}
+
+		update.where(predicate);
+		int count = entityManager.createQuery(update).executeUpdate();
+		if(count==0 && expected!=null) {
+			throw new ObjectOptimisticLockingFailureException(getDomainClass(), id);
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return the version attribute of the entity; null if it has none.
+	 */
+	@Nullable
+	private SingularAttribute<? super E, ?> getVersionAttribute() {
+
+		EntityType<E> type = entityManager.getMetamodel().entity(getDomainClass());
+		if(!type.hasVersionAttribute()) {
+			return null;
+		}
+
+		return type.getSingularAttributes().stream()
+				.filter(SingularAttribute::isVersion)
+				.findFirst()
+				.orElse(null);
+	}
+
+	/**
+	 * @param builder
+	 * @param form
+	 * @return null if the form has nothing to set.
+	 */
+	private CriteriaUpdate<E> getUpdate(CriteriaBuilder builder, UpdatableEntity<E> form) {
+
+		CriteriaUpdate<E> update = builder.createCriteriaUpdate(getDomainClass());
+		Root<E> root = update.from(getDomainClass());
+
+		boolean empty = true;
+		for(BeanProperties.Property property: getUpdatable(form.getClass())) {
+
+			Object value = property.read(form);
+			if(value!=null) {
+				update.set(root.get(property.getName()), value);
+				empty = false;
+			}
+		}
+
+		if(empty) {
+			return null;
+		}
+
+		SingularAttribute<? super E, ?> version = getVersionAttribute();
+		if(version!=null && Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(version.getJavaType()))) {
+			increment(update, builder, root.get(version.getName()));
+		}
+
+		if(BaseEntity.class.isAssignableFrom(getDomainClass())) {
+			update.set(root.get("modifiedDate"), getCurrentDateTime());
+			getCurrentAuditor().ifPresent(auditor->update.set(root.get("modifiedBy"), auditor));
+		}
+
+		return update;
+	}
+
+	@Override
+	@Transactional
+	public long persistAll(Iterable<E> entities, int batchSize) {
+
+		checkSize(batchSize);
+		Session session = entityManager.unwrap(Session.class);
+		Integer jdbcBatchSize = session.getJdbcBatchSize();
+		session.setJdbcBatchSize(batchSize);
+
+		try {
+			boolean clearable = isClearable();
+			List<E> persisted = new ArrayList<>(batchSize);
+			long count = 0;
+			for(E entity: entities) {
+
+				entityManager.persist(entity);
+				release(entity, persisted, clearable, batchSize);
+				count++;
+			}
+
+			release(persisted, clearable);
+			return count;
+		}
+		finally {
+			session.setJdbcBatchSize(jdbcBatchSize);
+		}
+	}
+
+	@Override
+	@Transactional
+	public long upsertAll(Iterable<E> entities, int batchSize) {
+
+		checkSize(batchSize);
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+		EntityPersister persister = session.getFactory().getMetamodel().entityPersister(getDomainClass());
+		if(!isUpsertable(persister)) {
+			LOG.debug("No upsert of {}; saving one by one", getDomainClass().getName());
+			return saveEach(entities, batchSize);
+		}
+
+		AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+		boolean audited = BaseEntity.class.isAssignableFrom(getDomainClass());
+		String[] names = entityPersister.getPropertyNames();
+		Type[] types = entityPersister.getPropertyTypes();
+		boolean[] insertable = entityPersister.getPropertyInsertability();
+		boolean[] updateable = entityPersister.getPropertyUpdateability();
+		int version = entityPersister.isVersioned()? entityPersister.getVersionProperty(): -1;
+
+		List<Integer> properties = new ArrayList<>();
+		List<String> columns = new ArrayList<>(Arrays.asList(entityPersister.getIdentifierColumnNames()));
+		List<String> updates = new ArrayList<>();
+		for(int i=0; i<names.length; i++) {
+
+			String[] propertyColumns = entityPersister.getPropertyColumnNames(i);
+			if(!insertable[i] || types[i].isCollectionType() || propertyColumns.length==0 || Arrays.asList(propertyColumns).contains(null)) {
+				continue;
+			}
+
+			properties.add(i);
+			columns.addAll(Arrays.asList(propertyColumns));
+			if(i!=version && updateable[i] && (!audited || !"createdBy".equals(names[i]) && !"createdDate".equals(names[i]))) {
+				updates.addAll(Arrays.asList(propertyColumns));
+			}
+		}
+
+		entityManager.flush();
+		boolean clearable = isClearable();
+		long count = session.doReturningWork(connection -> {
+
+			String sql = getUpsert(connection.getMetaData().getDatabaseProductName(), entityPersister.getTableName(),
+					Arrays.asList(entityPersister.getIdentifierColumnNames()), columns, updates,
+					version<0? null: entityPersister.getPropertyColumnNames(version)[0]);
+			if(sql==null) {
+				return -1L;
+			}
+
+			LocalDateTime now = getCurrentDateTime();
+			String auditor = audited? getCurrentAuditor().orElse(null): null;
+			List<Serializable> ids = new ArrayList<>(batchSize);
+			List<E> persisted = new ArrayList<>(batchSize);
+			long upserted = 0;
+			try(PreparedStatement statement = connection.prepareStatement(sql)) {
+
+				for(E entity: entities) {
+
+					Serializable id = entityPersister.getIdentifier(entity, (SharedSessionContractImplementor) session);
+					if(id==null) {
+						entityManager.persist(entity);
+						release(entity, persisted, clearable, batchSize);
+						upserted++;
+						continue;
+					}
+
+					if(audited) {
+						stamp((BaseEntity<?>) entity, now, auditor);
+					}
+
+					entityPersister.getIdentifierType().nullSafeSet(statement, id, 1, session);
+					int index = 1 + entityPersister.getIdentifierColumnNames().length;
+					Object[] values = entityPersister.getPropertyValues(entity);
+					for(int i: properties) {
+						Object value = i==version && values[i]==null? entityPersister.getVersionType().seed(session): values[i];
+						types[i].nullSafeSet(statement, value, index, session);
+						index += entityPersister.getPropertyColumnNames(i).length;
+					}
+
+					statement.addBatch();
+					ids.add(id);
+					upserted++;
+					if(ids.size()>=batchSize) {
+						statement.executeBatch();
+						detach(session, entityPersister, ids, clearable);
+					}
+				}
+
+				if(!ids.isEmpty()) {
+					statement.executeBatch();
+					detach(session, entityPersister, ids, clearable);
+				}
+			}
+
+			release(persisted, clearable);
+			return upserted;
+		});
+
+		if(count<0) {
+			LOG.debug("No upsert of {} on this database; saving one by one", getDomainClass().getName());
+			return saveEach(entities, batchSize);
+		}
+
+		session.getFactory().getCache().evictEntityData(getDomainClass());
+		return count;
+	}
+
+	/**
+	 * <p>Detaches the managed entities of the given ids, whose rows were written around the persistence context,
+	 *  unless the context is cleared anyway; then forgets the ids.</p>
+	 * 
+	 * @param session
+	 * @param persister
+	 * @param ids
+	 * @param clearable
+	 */
+	private void detach(SessionImplementor session, EntityPersister persister, List<Serializable> ids, boolean clearable) {
+
+		if(!clearable) {
+			for(Serializable id: ids) {
+				Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+				if(managed!=null) {
+					entityManager.detach(managed);
+				}
+			}
+		}
+
+		ids.clear();
+	}
+
+	/**
+	 * @param persister
+	 * @return whether the entities can be upserted by a single statement on a single table.
+	 */
+	private static boolean isUpsertable(EntityPersister persister) {
+		return persister instanceof SingleTableEntityPersister
+				&& ((SingleTableEntityPersister) persister).getTableSpan()==1
+				&& !((SingleTableEntityPersister) persister).isInherited()
+				&& !persister.getEntityMetamodel().hasSubclasses()
+				&& (!persister.isVersioned() || Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(persister.getVersionType().getReturnedClass())))
+				&& !persister.getIdentifierType().isComponentType();
+	}
+
+	/**
+	 * @param product the database product name.
+	 * @param table
+	 * @param keys the id columns.
+	 * @param columns the id columns followed by the columns of the properties, in the order of the parameters.
+	 * @param updates the columns to update on conflict.
+	 * @param version the numeric version column, incremented on conflict; null if none.
+	 * @return null if the database is not supported.
+	 */
+	@Nullable
+	private static String getUpsert(String product, String table, List<String> keys, List<String> columns, List<String> updates, @Nullable String version) {
+
+		String names = String.join(", ", columns);
+		String parameters = String.join(", ", Collections.nCopies(columns.size(), "?"));
+		if(product.startsWith("PostgreSQL")) {
+			List<String> sets = updates.stream().map(c->c + " = excluded." + c).collect(Collectors.toList());
+			if(version!=null) {
+				sets.add(version + " = t." + version + " + 1");
+			}
+			return "insert into " + table + " as t (" + names + ") values (" + parameters + ") on conflict (" + String.join(", ", keys) + ") do "
+					+ (sets.isEmpty()? "nothing": "update set " + String.join(", ", sets));
+		}
+		else if(product.startsWith("MySQL") || product.startsWith("MariaDB")) {
+			List<String> sets = updates.stream().map(c->c + " = values(" + c + ")").collect(Collectors.toList());
+			if(version!=null) {
+				sets.add(version + " = " + version + " + 1");
+			}
+			return "insert into " + table + " (" + names + ") values (" + parameters + ") on duplicate key update "
+					+ (sets.isEmpty()? keys.get(0) + " = " + keys.get(0): String.join(", ", sets));
+		}
+		else if(product.startsWith("H2")) {
+			List<String> sets = updates.stream().map(c->c + " = s." + c).collect(Collectors.toList());
+			if(version!=null) {
+				sets.add(version + " = t." + version + " + 1");
+			}
+			return "merge into " + table + " t using (values (" + parameters + ")) s (" + names + ") on "
+					+ keys.stream().map(c->"t." + c + " = s." + c).collect(Collectors.joining(" and "))
+					+ (sets.isEmpty()? "": " when matched then update set " + String.join(", ", sets))
+					+ " when not matched then insert (" + names + ") values (" + columns.stream().map(c->"s." + c).collect(Collectors.joining(", ")) + ")";
+		}
+
+		return null;
+	}
+
+	/**
+	 * <p>Sets the audit properties as {@link org.springframework.data.jpa.domain.support.AuditingEntityListener} does on creation;
+	 *  the creation ones are not written to rows updated.</p>
+	 * 
+	 * @param entity
+	 * @param now
+	 * @param auditor
+	 */
+	private static void stamp(BaseEntity<?> entity, LocalDateTime now, @Nullable String auditor) {
+
+		if(entity.getCreatedDate()==null) {
+			entity.setCreatedDate(now);
+		}
+
+		if(entity.getCreatedBy()==null) {
+			entity.setCreatedBy(auditor);
+		}
+
+		entity.setModifiedDate(now);
+		entity.setModifiedBy(auditor);
+	}
+
+	/**
+	 * <p>Saves the given entities one by one, releasing them from the persistence context after each batch.</p>
+	 * 
+	 * @param entities
+	 * @param batchSize
+	 * @return the number of entities saved.
+	 */
+	private long saveEach(Iterable<E> entities, int batchSize) {
+
+		boolean clearable = isClearable();
+		List<E> saved = new ArrayList<>(batchSize);
+		long count = 0;
+		for(E entity: entities) {
+			release(save(entity), saved, clearable, batchSize);
+			count++;
+		}
+
+		release(saved, clearable);
+		return count;
+	}
+
+	/**
+	 * @param <N>
+	 * @param update
+	 * @param builder
+	 * @param path a numeric version.
+	 */
+	private static <N extends Number> void increment(CriteriaUpdate<?> update, CriteriaBuilder builder, Path<N> path) {
+		@SuppressWarnings("unchecked")
+		Expression<N> sum = (Expression<N>) builder.sum(path, 1);
+		update.set(path, sum);
+	}
+
+	/**
+	 * <p>The readable properties of the given form class matching basic, non-id, non-version attributes of the entity,
+	 *  resolved once per class.</p>
+	 * 
+	 * @param clazz
+	 * @return
+	 */
+	private List<BeanProperties.Property> getUpdatable(Class<?> clazz) {
+		return updates.computeIfAbsent(clazz, k->{
+
+			boolean audited = BaseEntity.class.isAssignableFrom(getDomainClass());
+			BeanProperties properties = BeanProperties.of(clazz);
+			List<BeanProperties.Property> list = new ArrayList<>();
+			for(SingularAttribute<? super E, ?> attribute: entityManager.getMetamodel().entity(getDomainClass()).getSingularAttributes()) {
+
+				if(attribute.isId() || attribute.isVersion() || attribute.getPersistentAttributeType()!=PersistentAttributeType.BASIC
+						|| audited && AUDIT_PROPERTIES.contains(attribute.getName())) {
+					continue;
+				}
+
+				BeanProperties.Property property = properties.get(attribute.getName());
+				if(property!=null && property.isReadable()) {
+					list.add(property);
+				}
+			}
+
+			return list;
+		});
+	}
+
+	/**
+	 * <p>The current auditor from the {@link AuditorAware} bean, as {@link BaseEntity#getModifiedBy()} would be set.</p>
+	 * 
+	 * @return empty if there is no {@link AuditorAware} bean or no current auditor.
+	 */
+	protected Optional<String> getCurrentAuditor() {
+
+		ApplicationContext context = ApplicationContextProvider.getApplicationContext();
+		AuditorAware<?> auditorAware = context==null? null: context.getBeanProvider(AuditorAware.class).getIfUnique();
+
+		return auditorAware==null? Optional.empty(): auditorAware.getCurrentAuditor().map(String::valueOf);
+	}
+
+	/**
+	 * <p>The current time from the {@link DateTimeProvider} bean, as {@link BaseEntity#getModifiedDate()} would be set.</p>
+	 * 
+	 * @return the time of {@link CurrentDateTimeProvider} if there is no {@link DateTimeProvider} bean.
+	 */
+	protected LocalDateTime getCurrentDateTime() {
+
+		ApplicationContext context = ApplicationContextProvider.getApplicationContext();
+		DateTimeProvider provider = context==null? null: context.getBeanProvider(DateTimeProvider.class).getIfUnique();
+
+		TemporalAccessor now = (provider==null? CurrentDateTimeProvider.INSTANCE: provider).getNow().orElse(null);
+		if(now==null) {
+			return LocalDateTime.now();
+		}
+		else if(now instanceof Instant) {
+			return LocalDateTime.ofInstant((Instant) now, ZoneId.systemDefault());
+		}
+
+		return LocalDateTime.from(now);
+	}
+
+	/**
+	 * @param <T>
+	 * @param iterable
+	 * @param size
+	 * @return consecutive lists of at most the given size.
+	 */
+	protected static <T> List<List<T>> partition(Iterable<T> iterable, int size) {
+
+		List<List<T>> chunks = new ArrayList<>();
+		List<T> chunk = new ArrayList<>(size);
+		for(T t: iterable) {
+
+			chunk.add(t);
+			if(chunk.size()==size) {
+				chunks.add(chunk);
+				chunk = new ArrayList<>(size);
+			}
+		}
+
+		if(!chunk.isEmpty()) {
+			chunks.add(chunk);
+		}
+
+		return chunks;
+	}
+
+	/**
+	 * <p>The writable properties of the given class matching basic attributes of the entity, resolved once per class.</p>
+	 * 
+	 * @param clazz
+	 * @return
+	 */
+	private List<BeanProperties.Property> getProjection(Class<?> clazz) {
+		return projections.computeIfAbsent(clazz, k->{
+
+			BeanProperties properties = BeanProperties.of(clazz);
+			List<BeanProperties.Property> list = new ArrayList<>();
+			for(SingularAttribute<? super E, ?> attribute: entityManager.getMetamodel().entity(getDomainClass()).getSingularAttributes()) {
+
+				BeanProperties.Property property = properties.get(attribute.getName());
+				if(property!=null && property.isWritable() && attribute.getPersistentAttributeType()==PersistentAttributeType.BASIC) {
+					list.add(property);
+				}
+			}
+
+			if(list.isEmpty()) {
+				throw new IllegalArgumentException("No property of " + clazz.getName() + " matches an attribute of " + getDomainClass().getName());
+			}
+
+			return list;
+		});
+	}
+
+	/**
+	 * @param filter
+	 * @param sort
+	 * @param properties
+	 * @return
+	 */
+	private TypedQuery<Tuple> getProjectionQuery(@Nullable Filter<E> filter, Sort sort, List<BeanProperties.Property> properties) {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<E> root = query.from(getDomainClass());
+
+		Specification<E> spec = filter==null? null: filter.getSpecification();
+		if(spec!=null) {
+			Predicate predicate = spec.toPredicate(root, query, builder);
+			if(predicate!=null) {
+				query.where(predicate);
+			}
+		}
+
+		query.multiselect(properties.stream()
+				.map(p->root.get(p.getName()).alias(p.getName()))
+				.collect(Collectors.toList()));
+
+		if(sort.isSorted()) {
+			query.orderBy(QueryUtils.toOrders(sort, root, builder));
+		}
+
+		return entityManager.createQuery(query);
+	}
+
+	/**
+	 * @param <D>
+	 * @param tuple
+	 * @param clazz
+	 * @param properties
+	 * @return
+	 */
+	private static <D> D project(Tuple tuple, Class<D> clazz, List<BeanProperties.Property> properties) {
+
+		D bean = clazz.cast(BeanProperties.of(clazz).newInstance());
+		for(int i=0; i<properties.size(); i++) {
+
+			Object value = tuple.get(i);
+			if(ClassUtils.isAssignableValue(properties.get(i).getType(), value)) {
+				properties.get(i).write(bean, value);
+			}
+		}
+
+		return bean;
+	}
+
+	/**
+	 * <p>Reads the page of the given query, counting the total as {@link PageableFilter#getCountStrategy()} says.
+	 *  For {@link CountStrategy#NONE}, fetches one row more than the page size to tell whether a next page exists;
+	 *  the total of the returned page is then a lower bound.</p>
+	 * 
+	 * @param <T>
+	 * @param filter must be paged.
+	 * @param query the content query of the filter, without offset and limit.
+	 * @return
+	 */
+	protected <T> Page<T> readPage(PageableFilter<E> filter, TypedQuery<T> query) {
+		return readPage(filter, query, null);
+	}
+
+	/**
+	 * <p>Same as {@link #readPage(PageableFilter, TypedQuery)},
+	 *  starting the count on the given executor before the content query if the strategy is {@link CountStrategy#CONCURRENT}.</p>
+	 * 
+	 * @param <T>
+	 * @param filter must not be null, nor unpaged.
+	 * @param query
+	 * @param executor can be null, to count on the calling thread.
+	 * @return
+	 */
+	protected <T> Page<T> readPage(PageableFilter<E> filter, TypedQuery<T> query, @Nullable Executor executor) {
+
+		Pageable pageable = filter.getPageable();
+		query.setFirstResult((int) pageable.getOffset());
+
+		if(filter.getCountStrategy()==CountStrategy.NONE) {
+
+			query.setMaxResults(pageable.getPageSize() + 1);
+
+			List<T> content = JpaMetrics.content(getDomainClass(), "page", query::getResultList);
+			boolean hasNext = content.size() > pageable.getPageSize();
+			if(hasNext) {
+				content = new ArrayList<>(content.subList(0, pageable.getPageSize()));
+			}
+
+			return new PageImpl<>(content, pageable, pageable.getOffset() + content.size() + (hasNext? 1: 0));
+		}
+
+		LongSupplier counter = JpaMetrics.count(getDomainClass(), counter(filter));
+		if(filter.getCountStrategy()==CountStrategy.CONCURRENT && executor!=null) {
+
+			CompletableFuture<Long> total = CompletableFuture.supplyAsync(counter::getAsLong, executor);
+			counter = ()->{
+				try {
+					return total.join();
+				}
+				catch (CompletionException e) {
+					throw e.getCause() instanceof RuntimeException? (RuntimeException) e.getCause(): e;
+				}
+			};
+		}
+
+		query.setMaxResults(pageable.getPageSize());
+		return PageableExecutionUtils.getPage(JpaMetrics.content(getDomainClass(), "page", query::getResultList), pageable, counter);
+	}
+
+	/**
+	 * @param filter
+	 * @return
+	 */
+	private LongSupplier counter(PageableFilter<E> filter) {
+
+		Specification<E> spec = filter.getSpecification();
+		switch(filter.getCountStrategy()) {
+		case CACHED:
+			Object key = filter.getCacheKey();
+			if(key!=null) {
+				// keyed by the filter class too, since another filter may make the same key of another specification
+				List<Object> cacheKey = Arrays.asList(filter.getClass(), key);
+				return ()->countCached(cacheKey, spec, filter.getCountTimeToLive());
+			}
+			break;
+		case ESTIMATED:
+			if(spec==null) {
+				return ()->estimate().orElseGet(()->count(spec));
+			}
+			break;
+		default:
+			break;
+		}
+
+		return ()->count(spec);
+	}
+
+	/**
+	 * @param key
+	 * @param spec
+	 * @param timeToLive
+	 * @return
+	 */
+	private long countCached(Object key, @Nullable Specification<E> spec, Duration timeToLive) {
+
+		Long count = countCache.get(key);
+		if(count==null) {
+			count = count(spec);
+			countCache.put(key, count, timeToLive);
+		}
+
+		return count;
+	}
+
+	/**
+	 * <p>The row count of the table from the statistics of the database.</p>
+	 * 
+	 * @return empty if the database is not supported or has no statistics yet.
+	 */
+	protected OptionalLong estimate() {
+
+		Session session = entityManager.unwrap(Session.class);
+		EntityPersister persister = ((SessionFactoryImplementor) session.getSessionFactory()).getMetamodel().entityPersister(getDomainClass());
+		if(!(persister instanceof AbstractEntityPersister)) {
+			return OptionalLong.empty();
+		}
+
+		String table = ((AbstractEntityPersister) persister).getTableName().replace("\"", "").replace("`", "");
+		return session.doReturningWork(connection -> {
+
+			String product = connection.getMetaData().getDatabaseProductName();
+			String sql;
+			if(product.startsWith("PostgreSQL")) {
+				sql = "select reltuples::bigint from pg_class where oid = to_regclass(?)";
+			}
+			else if(product.startsWith("MySQL") || product.startsWith("MariaDB")) {
+				sql = "select table_rows from information_schema.tables where table_schema = database() and table_name = ?";
+			}
+			else if(product.startsWith("Oracle")) {
+				sql = "select num_rows from user_tables where table_name = upper(?)";
+			}
+			else if(product.startsWith("Microsoft SQL Server")) {
+				sql = "select sum(rows) from sys.partitions where object_id = object_id(?) and index_id in (0, 1)";
+			}
+			else {
+				return OptionalLong.empty();
+			}
+
+			try(PreparedStatement statement = connection.prepareStatement(sql)) {
+
+				statement.setString(1, table);
+				try(ResultSet rs = statement.executeQuery()) {
+
+					if(rs.next()) {
+						long rows = rs.getLong(1);
+						if(!rs.wasNull() && rows >= 0) {
+							return OptionalLong.of(rows);
+						}
+					}
+				}
+			}
+
+			LOG.debug("No statistics of {} on {}", table, product);
+			return OptionalLong.empty();
+		});
+	}
+
+	/**
+	 * <p>In a read-only transaction, the streamed entities are loaded read-only, without the snapshots of dirty checking.
+	 *  In a read-write transaction of the caller they are loaded as usual, so the changes of the action are flushed.</p>
+	 * 
+	 * @param filter
+	 * @param fetchSize
+	 * @return
+	 */
+	private TypedQuery<E> getStreamQuery(@Nullable Filter<E> filter, int fetchSize) {
+
+		TypedQuery<E> query = getQuery(filter==null? null: filter.getSpecification(), filter==null? Sort.unsorted(): filter.getSort());
+		query.setHint(QueryHints.FETCH_SIZE, fetchSize);
+		if(TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			query.setHint(QueryHints.READ_ONLY, true);
+		}
+
+		return query;
+	}
+}
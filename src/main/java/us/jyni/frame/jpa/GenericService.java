@@ -3,9 +3,20 @@
  */
 package us.jyni.frame.jpa;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,6 +26,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * @author jynius
@@ -34,6 +46,96 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 */
 	public R getRepository();
 	
+	/**
+	 * <p>JDBC fetch size of {@link #stream(Filter, Function)} and {@link #forEach(Filter, Function, Consumer)},
+	 *  also the number of rows between clearing the persistence context.</p>
+	 * 
+	 * @return {@link GenericRepository#FETCH_SIZE} by default.
+	 */
+	default int getFetchSize() {
+		return GenericRepository.FETCH_SIZE;
+	}
+	
+	/**
+	 * <p>JDBC batch size of {@link #insertAll(Iterable)},
+	 *  also the number of entities between flushing and clearing the persistence context.</p>
+	 * 
+	 * @return {@link GenericRepository#BATCH_SIZE} by default.
+	 */
+	default int getBatchSize() {
+		return GenericRepository.BATCH_SIZE;
+	}
+	
+	/**
+	 * <p>Opt-in read-through cache of the views returned by {@link #findById(Object, Class)}
+	 *  and {@link #findAllByIds(List, Class)}, invalidated by the writes of this service.
+	 *  Override with a field of the implementing class, one instance per service.</p>
+	 * 
+	 * @return null by default, meaning no caching.
+	 */
+	@Nullable
+	default ViewCache<I> getViewCache() {
+		return null;
+	}
+	
+	/**
+	 * <p>Opt-in cache of the results of {@link #count(Filter)}, {@link #findPage(PageableFilter, Class)}
+	 *  and {@link #findAll(Filter, Class)} for filters with a {@link Filter#getCacheKey()},
+	 *  cleared by any write of this service.
+	 *  Override with a field of the implementing class, one instance per service.</p>
+	 * 
+	 * @return null by default, meaning no caching.
+	 */
+	@Nullable
+	default QueryCache getQueryCache() {
+		return null;
+	}
+	
+	/**
+	 * <p>Opt-in pool on which {@link #findAll(Filter, Function)} and {@link #findAll(Filter, Class)}
+	 *  map large results in parallel, preserving their order.
+	 *  Enable it only for view functions that are thread-safe and read no lazy association.</p>
+	 * 
+	 * @return null by default, meaning mapping on the calling thread.
+	 * 
+	 * @see {@link EntityView#of(List, Function, ForkJoinPool)}
+	 */
+	@Nullable
+	default ForkJoinPool getMappingPool() {
+		return null;
+	}
+	
+	/**
+	 * <p>Opt-in executor on which {@link #findAllByIds(List, Function)} and {@link #findAllByIds(List, Class)}
+	 *  query their chunks of ids concurrently, and {@link #findPage(PageableFilter, Class)} counts
+	 *  while reading the page if the count strategy is {@link CountStrategy#CONCURRENT}.</p>
+	 * 
+	 * @return null by default, meaning querying on the calling thread.
+	 */
+	@Nullable
+	default Executor getExecutor() {
+		return null;
+	}
+	
+	/**
+	 * <p>Evicts the given ids from the caches of this service, and clears the query cache; called by every write of this service.
+	 *  Call it after changing the entities of this service by other means.</p>
+	 * 
+	 * @param ids null to evict all.
+	 */
+	default void evict(@Nullable Collection<I> ids) {
+		
+		ViewCache<I> cache = getViewCache();
+		if(cache!=null) {
+			cache.evict(ids);
+		}
+		
+		QueryCache queries = getQueryCache();
+		if(queries!=null) {
+			queries.clear();
+		}
+	}
+	
 	/**
 	 * <p>Returns the number of instances that the given {@link Specification} will return.</p>
 	 * 
@@ -42,8 +144,9 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * 
 	 * @see {@link JpaSpecificationExecutor#count(Specification)}
 	 */
+	@Transactional(readOnly = true)
 	default long count(@Nullable Filter<E> filter) {
-		return getRepository().count(filter==null? null: filter.getSpecification());
+		return QueryCache.get(getQueryCache(), filter, ()->getRepository().count(filter==null? null: filter.getSpecification()), "count");
 	}
 
 	/**
@@ -55,10 +158,13 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @return never null.
 	 * 
 	 * @see {@link JpaSpecificationExecutor#findAll(Specification, Pageable)}
+	 * @see {@link GenericRepository#findPage(PageableFilter, Executor)}
 	 * @see {@link Pageable}
+	 * @see {@link CountStrategy}
 	 */
+	@Transactional(readOnly = true)
 	default <T> Page<T> findPage(@Nullable PageableFilter<E> filter, Function<E, T> function) {
-		Page<E> page = getRepository().findAll(filter==null? null: filter.getSpecification(), filter==null? Pageable.unpaged(): filter.getPageable());
+		Page<E> page = getRepository().findPage(filter, getExecutor());
 		return EntityView.of(page, function);
 	}
 
@@ -71,11 +177,84 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @return never null.
 	 * 
 	 * @see {@link JpaSpecificationExecutor#findAll(Specification, Pageable)}
+	 * @see {@link GenericRepository#findPage(PageableFilter, Executor)}
 	 * @see {@link Pageable}
+	 * @see {@link CountStrategy}
 	 */
+	@Transactional(readOnly = true)
 	default <D extends EntityView<E>> Page<D> findPage(@Nullable PageableFilter<E> filter, Class<D> clazz) {
-		Page<E> page = getRepository().findAll(filter==null? null: filter.getSpecification(), filter==null? Pageable.unpaged(): filter.getPageable());
-		return EntityView.of(page, clazz);
+		return QueryCache.get(getQueryCache(), filter, ()->{
+			Page<E> page = getRepository().findPage(filter, getExecutor());
+			return EntityView.of(page, clazz);
+		}, "findPage", clazz);
+	}
+
+	/**
+	 * <p>Returns a {@link Page} of views matching the given {@link Specification}, selecting only the columns the view needs.
+	 *  Writable properties of the view matching basic attributes of the entity are selected and set directly:
+	 *  no entity is loaded, and {@link EntityView#setEntity(Object)} is not called.</p>
+	 * 
+	 * @param <D>
+	 * @param filter
+	 * @param clazz
+	 * @return never null.
+	 * 
+	 * @see {@link GenericRepository#projectPage(PageableFilter, Class)}
+	 */
+	@Transactional(readOnly = true)
+	default <D extends EntityView<E>> Page<D> projectPage(@Nullable PageableFilter<E> filter, Class<D> clazz) {
+		return clazz==null? Page.empty(): getRepository().projectPage(filter, clazz);
+	}
+
+	/**
+	 * <p>Returns all views matching the given {@link Specification} and {@link Sort}, selecting only the columns the view needs.
+	 *  Writable properties of the view matching basic attributes of the entity are selected and set directly:
+	 *  no entity is loaded, and {@link EntityView#setEntity(Object)} is not called.</p>
+	 * 
+	 * @param <D>
+	 * @param filter
+	 * @param clazz
+	 * @return never null.
+	 * 
+	 * @see {@link GenericRepository#projectAll(Filter, Class)}
+	 */
+	@Transactional(readOnly = true)
+	default <D extends EntityView<E>> List<D> projectAll(@Nullable Filter<E> filter, Class<D> clazz) {
+		return clazz==null? Collections.emptyList(): getRepository().projectAll(filter, clazz);
+	}
+
+	/**
+	 * <p>Returns the {@link KeysetSlice} of entities following the cursor of the given {@link KeysetFilter}.
+	 *  Seeks by the sort keys instead of an offset and issues no count query.</p>
+	 * 
+	 * @param <T>
+	 * @param filter must not be null.
+	 * @param function
+	 * @return never null.
+	 * 
+	 * @see {@link GenericRepository#findSlice(KeysetFilter)}
+	 */
+	@Transactional(readOnly = true)
+	default <T> KeysetSlice<T> findSlice(KeysetFilter<E> filter, Function<E, T> function) {
+		KeysetSlice<E> slice = getRepository().findSlice(filter);
+		return EntityView.of(slice, function);
+	}
+
+	/**
+	 * <p>Returns the {@link KeysetSlice} of entities following the cursor of the given {@link KeysetFilter}.
+	 *  Seeks by the sort keys instead of an offset and issues no count query.</p>
+	 * 
+	 * @param <D>
+	 * @param filter must not be null.
+	 * @param clazz
+	 * @return never null.
+	 * 
+	 * @see {@link GenericRepository#findSlice(KeysetFilter)}
+	 */
+	@Transactional(readOnly = true)
+	default <D extends EntityView<E>> KeysetSlice<D> findSlice(KeysetFilter<E> filter, Class<D> clazz) {
+		KeysetSlice<E> slice = getRepository().findSlice(filter);
+		return EntityView.of(slice, clazz);
 	}
 
 	/**
@@ -86,11 +265,12 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @param function
 	 * @return never null.
 	 * 
-	 * @see {@link JpaSpecificationExecutor#findAll(Specification, Sort)}
+	 * @see {@link GenericRepository#findAll(Filter)}
 	 */
+	@Transactional(readOnly = true)
 	default <T> List<T> findAll(@Nullable Filter<E> filter, Function<E, T> function) {
-		List<E> list = getRepository().findAll(filter==null? null: filter.getSpecification(), filter==null? Sort.unsorted(): filter.getSort());
-		return EntityView.of(list, function);
+		List<E> list = getRepository().findAll(filter);
+		return EntityView.of(list, function, getMappingPool());
 	}
 
 	/**
@@ -101,17 +281,95 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @param clazz
 	 * @return never null.
 	 * 
-	 * @see {@link JpaSpecificationExecutor#findAll(Specification, Sort)}
+	 * @see {@link GenericRepository#findAll(Filter)}
 	 */
+	@Transactional(readOnly = true)
 	default <D extends EntityView<E>> List<D> findAll(@Nullable Filter<E> filter, Class<D> clazz) {
-		List<E> list = getRepository().findAll(filter==null? null: filter.getSpecification(), filter==null? Sort.unsorted(): filter.getSort());
-		return EntityView.of(list, clazz);
+		return QueryCache.get(getQueryCache(), filter, ()->{
+			List<E> list = getRepository().findAll(filter);
+			return EntityView.of(list, clazz, getMappingPool());
+		}, "findAll", clazz);
+	}
+
+	/**
+	 * <p>Returns a {@link Stream} of all entities matching the given {@link Specification} and {@link Sort}, mapped one row at a time.
+	 *  Neither the entities nor the results are collected into a {@link List},
+	 *  and the streamed entities are released from the persistence context every {@link #getFetchSize()} rows.</p>
+	 * <p>Must be called and consumed inside a (read-only) transaction, and closed after use.</p>
+	 * 
+	 * @param <T>
+	 * @param filter can be null.
+	 * @param function must not return the entity itself.
+	 * @return never null.
+	 * 
+	 * @see {@link GenericRepository#stream(Filter, Function, int)}
+	 */
+	default <T> Stream<T> stream(@Nullable Filter<E> filter, Function<E, T> function) {
+		return getRepository().stream(filter, function, getFetchSize());
+	}
+
+	/**
+	 * <p>Returns a {@link Stream} of all entities matching the given {@link Specification} and {@link Sort}, mapped one row at a time.
+	 *  Neither the entities nor the results are collected into a {@link List},
+	 *  and the streamed entities are released from the persistence context every {@link #getFetchSize()} rows.</p>
+	 * <p>Must be called and consumed inside a (read-only) transaction, and closed after use.</p>
+	 * 
+	 * @param <D>
+	 * @param filter can be null.
+	 * @param clazz
+	 * @return never null.
+	 * 
+	 * @see {@link GenericRepository#stream(Filter, Function, int)}
+	 */
+	default <D extends EntityView<E>> Stream<D> stream(@Nullable Filter<E> filter, Class<D> clazz) {
+		return clazz==null? Stream.empty(): getRepository().stream(filter, EntityView.mapper(clazz), getFetchSize());
+	}
+
+	/**
+	 * <p>Performs the given action for the view of each entity matching the given {@link Specification} and {@link Sort}.
+	 *  Runs in its own read-only transaction unless one is already active,
+	 *  and releases the streamed entities from the persistence context every {@link #getFetchSize()} rows.</p>
+	 * 
+	 * @param <T>
+	 * @param filter can be null.
+	 * @param function
+	 * @param action
+	 * @return the number of entities.
+	 * 
+	 * @see {@link GenericRepository#forEach(Filter, Consumer, int)}
+	 */
+	@Transactional(readOnly = true)
+	default <T> long forEach(@Nullable Filter<E> filter, Function<E, T> function, Consumer<? super T> action) {
+		return getRepository().forEach(filter, e->{
+			T t = function.apply(e);
+			if(t!=null) {
+				action.accept(t);
+			}
+		}, getFetchSize());
+	}
+
+	/**
+	 * <p>Performs the given action for the view of each entity matching the given {@link Specification} and {@link Sort}.
+	 *  Runs in its own read-only transaction unless one is already active,
+	 *  and releases the streamed entities from the persistence context every {@link #getFetchSize()} rows.</p>
+	 * 
+	 * @param <D>
+	 * @param filter can be null.
+	 * @param clazz
+	 * @param action
+	 * @return the number of entities.
+	 * 
+	 * @see {@link GenericRepository#forEach(Filter, Consumer, int)}
+	 */
+	@Transactional(readOnly = true)
+	default <D extends EntityView<E>> long forEach(@Nullable Filter<E> filter, Class<D> clazz, Consumer<? super D> action) {
+		return clazz==null? 0: forEach(filter, EntityView.mapper(clazz), action);
 	}
 
 	/**
-	 * <p>Returns all instances of the type T with the given IDs.
+	 * <p>Returns all instances of the type T with the given IDs, in the order of the ids.
 	 *  If some or all ids are not found, no entities are returned for these IDs.
-	 *  Note that the order of elements in the result is not guaranteed.</p>
+	 *  The ids are queried in chunks, concurrently on {@link #getExecutor()} if any.</p>
 	 * 
 	 * @param <T>
 	 * @param ids must not be null nor contain any null values.
@@ -119,16 +377,18 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @return guaranteed to be not null. The size can be equal or less than the number of given ids.
 	 * 
 	 * @see {@link JpaRepository#findAllById(Iterable)}
+	 * @see {@link GenericRepository#findAllByIds(List, Executor)}
 	 */
+	@Transactional(readOnly = true)
 	default <T> List<T> findAllByIds(List<I> ids, Function<E, T> function) {
-		List<E> list = getRepository().findAllById(ids);
+		List<E> list = getRepository().findAllByIds(ids, getExecutor());
 		return EntityView.of(list, function);
 	}
 
 	/**
-	 * <p>Returns all instances of the type T with the given IDs.
+	 * <p>Returns all instances of the type T with the given IDs, in the order of the ids.
 	 *  If some or all ids are not found, no entities are returned for these IDs.
-	 *  Note that the order of elements in the result is not guaranteed.</p>
+	 *  The ids are queried in chunks, concurrently on {@link #getExecutor()} if any.</p>
 	 * 
 	 * @param <D>
 	 * @param ids must not be null nor contain any null values.
@@ -136,42 +396,122 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @return guaranteed to be not null. The size can be equal or less than the number of given ids.
 	 * 
 	 * @see {@link JpaRepository#findAllById(Iterable)}
+	 * @see {@link GenericRepository#findAllByIds(List, Executor)}
 	 */
+	@Transactional(readOnly = true)
 	default <D extends EntityView<E>> List<D> findAllByIds(List<I> ids, Class<D> clazz) {
-		List<E> list = getRepository().findAllById(ids);
-		return EntityView.of(list, clazz);
+		
+		ViewCache<I> cache = getViewCache();
+		if(cache==null || clazz==null) {
+			List<E> list = getRepository().findAllByIds(ids, getExecutor());
+			return EntityView.of(list, clazz);
+		}
+		
+		Map<I, D> views = new LinkedHashMap<>();
+		List<I> misses = new ArrayList<>();
+		for(I id: ids) {
+			
+			D view = cache.get(id, clazz);
+			if(view==null) {
+				misses.add(id);
+			}
+			views.put(id, view);
+		}
+		
+		if(!misses.isEmpty()) {
+			long generation = cache.getGeneration();
+			for(E entity: getRepository().findAllByIds(misses, getExecutor())) {
+				D view = EntityView.of(entity, clazz);
+				I id = getRepository().getId(entity);
+				cache.put(id, view, generation);
+				views.put(id, view);
+			}
+		}
+		
+		return views.values().stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
 	}
 
 	/**
+	 * <p>Returns the first entity matching the given {@link Filter}, reading one row with no count query.</p>
+	 * 
 	 * @param <T>
 	 * @param filter
 	 * @param function
 	 * @return
 	 * 
-	 * @see {@link JpaSpecificationExecutor#findAll(Specification, Pageable)}
-	 * @see {@link Pageable}
+	 * @see {@link GenericRepository#findTop(Filter, int)}
 	 */
-	default <T> Optional<T> findFirst(@Nullable PageableFilter<E> filter, Function<E, T> function) {
-		Page<E> page = getRepository().findAll(filter==null? null: filter.getSpecification(), filter==null? Pageable.unpaged(): filter.getPageable());
-		Optional<E> entity = page.stream().findFirst();
+	@Transactional(readOnly = true)
+	default <T> Optional<T> findFirst(@Nullable Filter<E> filter, Function<E, T> function) {
+		Optional<E> entity = getRepository().findTop(filter, 1).stream().findFirst();
 		return EntityView.of(entity, function);
 	}
 
 	/**
+	 * <p>Returns the first entity matching the given {@link Filter}, reading one row with no count query.</p>
+	 * 
 	 * @param <D>
 	 * @param filter
 	 * @param clazz
 	 * @return
 	 * 
-	 * @see {@link JpaSpecificationExecutor#findAll(Specification, Pageable)}
-	 * @see {@link Pageable}
+	 * @see {@link GenericRepository#findTop(Filter, int)}
 	 */
-	default <D extends EntityView<E>> Optional<D> findFirst(@Nullable PageableFilter<E> filter, Class<D> clazz) {
-		Page<E> page = getRepository().findAll(filter==null? null: filter.getSpecification(), filter==null? Pageable.unpaged(): filter.getPageable());
-		Optional<E> entity = page.stream().findFirst();
+	@Transactional(readOnly = true)
+	default <D extends EntityView<E>> Optional<D> findFirst(@Nullable Filter<E> filter, Class<D> clazz) {
+		Optional<E> entity = getRepository().findTop(filter, 1).stream().findFirst();
 		return EntityView.of(entity, clazz);
 	}
 
+	/**
+	 * <p>Returns at most the given number of the first entities matching the given {@link Filter}, with no count query.</p>
+	 * 
+	 * @param <T>
+	 * @param filter
+	 * @param size
+	 * @param function
+	 * @return never null.
+	 * 
+	 * @see {@link GenericRepository#findTop(Filter, int)}
+	 */
+	@Transactional(readOnly = true)
+	default <T> List<T> findTop(@Nullable Filter<E> filter, int size, Function<E, T> function) {
+		List<E> list = getRepository().findTop(filter, size);
+		return EntityView.of(list, function);
+	}
+
+	/**
+	 * <p>Returns at most the given number of the first entities matching the given {@link Filter}, with no count query.</p>
+	 * 
+	 * @param <D>
+	 * @param filter
+	 * @param size
+	 * @param clazz
+	 * @return never null.
+	 * 
+	 * @see {@link GenericRepository#findTop(Filter, int)}
+	 */
+	@Transactional(readOnly = true)
+	default <D extends EntityView<E>> List<D> findTop(@Nullable Filter<E> filter, int size, Class<D> clazz) {
+		List<E> list = getRepository().findTop(filter, size);
+		return EntityView.of(list, clazz);
+	}
+
+	/**
+	 * <p>Returns whether any entity matches the given {@link Filter}, reading at most one row instead of counting.</p>
+	 * 
+	 * @param filter
+	 * @return
+	 * 
+	 * @see {@link GenericRepository#exists(Filter)}
+	 */
+	@Transactional(readOnly = true)
+	default boolean exists(@Nullable Filter<E> filter) {
+		return getRepository().exists(filter);
+	}
+
 	/**
 	 * <p>Returns a single entity matching the given {@link Specification} or {@link Optional#empty()} if none found.</p>
 	 * 
@@ -180,10 +520,11 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @param function
 	 * @return never null.
 	 * 
-	 * @see {@link JpaSpecificationExecutor#findOne(Specification)}
+	 * @see {@link GenericRepository#findOne(Filter)}
 	 */
+	@Transactional(readOnly = true)
 	default <T> Optional<T> findOne(@Nullable Filter<E> filter, Function<E, T> function) {
-		Optional<E> entity = getRepository().findOne(filter==null? null: filter.getSpecification());
+		Optional<E> entity = getRepository().findOne(filter);
 		return EntityView.of(entity, function);
 	}
 
@@ -195,10 +536,11 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @param clazz
 	 * @return never null.
 	 * 
-	 * @see {@link JpaSpecificationExecutor#findOne(Specification)}
+	 * @see {@link GenericRepository#findOne(Filter)}
 	 */
+	@Transactional(readOnly = true)
 	default <D extends EntityView<E>> Optional<D> findOne(@Nullable Filter<E> filter, Class<D> clazz) {
-		Optional<E> entity = getRepository().findOne(filter==null? null: filter.getSpecification());
+		Optional<E> entity = getRepository().findOne(filter);
 		return EntityView.of(entity, clazz);
 	}
 
@@ -212,6 +554,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * 
 	 * @see {@link CrudRepository#findById(Object)}
 	 */
+	@Transactional(readOnly = true)
 	default <T> Optional<T> findById(I id, Function<E, T> function) {
 		Optional<E> optional = getRepository().findById(id);
 		return EntityView.of(optional, function);
@@ -227,9 +570,23 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * 
 	 * @see {@link CrudRepository#findById(Object)}
 	 */
+	@Transactional(readOnly = true)
 	default <D extends EntityView<E>> Optional<D> findById(I id, Class<D> clazz) {
+		
+		ViewCache<I> cache = getViewCache();
+		D cached = cache==null || clazz==null? null: cache.get(id, clazz);
+		if(cached!=null) {
+			return Optional.of(cached);
+		}
+		
+		long generation = cache==null? 0: cache.getGeneration();
 		Optional<E> optional = getRepository().findById(id);
-		return EntityView.of(optional, clazz);
+		Optional<D> view = EntityView.of(optional, clazz);
+		if(cache!=null) {
+			view.ifPresent(v->cache.put(id, v, generation));
+		}
+		
+		return view;
 	}
 
 	/**
@@ -245,6 +602,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 */
 	default <T, F extends FormEntity<E>> List<T> saveAll(List<F> list, Function<E, T> function) {
 		List<E> saved = getRepository().saveAll(FormEntity.of(list));
+		evict(saved.stream().map(getRepository()::getId).collect(Collectors.toList()));
 		return EntityView.of(saved, function);
 	}
 
@@ -261,11 +619,51 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 */
 	default <D extends EntityView<E>, F extends FormEntity<E>> List<D> saveAll(List<F> list, Class<D> clazz) {
 		List<E> saved = getRepository().saveAll(FormEntity.of(list));
+		evict(saved.stream().map(getRepository()::getId).collect(Collectors.toList()));
 		return EntityView.of(saved, clazz);
 	}
 
 	/**
-	 * <p>Saves all given entities.</p>
+	 * <p>Inserts the entities of all given forms, known to be new, in JDBC batches of {@link #getBatchSize()}.
+	 *  Unlike {@link #saveAll(List, Function)}, uses persist instead of merge, so no SELECT is issued for assigned ids,
+	 *  and flushes and clears the persistence context after each batch, so importing any number of rows runs in constant memory.
+	 *  Inside a read-write transaction of the caller, only the inserted entities are detached, and the others stay managed.
+	 *  Nothing is returned but the count, so the forms may be streamed.</p>
+	 * 
+	 * @param <F>
+	 * @param list must not be null nor must it contain null.
+	 * @return the number of entities inserted.
+	 * 
+	 * @see {@link GenericRepository#persistAll(Iterable, int)}
+	 */
+	default <F extends FormEntity<E>> long insertAll(Iterable<F> list) {
+		long count = getRepository().persistAll(FormEntity.of(list), getBatchSize());
+		evict(null);
+		return count;
+	}
+
+	/**
+	 * <p>Inserts or updates the entities of all given forms, whether their rows exist or not,
+	 *  with native upserts in JDBC batches of {@link #getBatchSize()}.
+	 *  Unlike {@link #saveAll(List, Function)}, no SELECT is issued per entity, so syncing any number of rows takes a few batched statements.
+	 *  The creation audit properties of {@link BaseEntity} are kept on the rows updated.
+	 *  Nothing is returned but the count, so the forms may be streamed.</p>
+	 * 
+	 * @param <F>
+	 * @param list must not be null nor must it contain null.
+	 * @return the number of entities inserted or updated.
+	 * 
+	 * @see {@link GenericRepository#upsertAll(Iterable, int)}
+	 */
+	default <F extends FormEntity<E>> long upsertAll(Iterable<F> list) {
+		long count = getRepository().upsertAll(FormEntity.of(list), getBatchSize());
+		evict(null);
+		return count;
+	}
+
+	/**
+	 * <p>Saves all given entities.
+	 *  They are loaded and changed in one transaction, so the changes are flushed by dirty checking, without merging.</p>
 	 * 
 	 * @param <T>
 	 * @param <F>
@@ -276,6 +674,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * 
 	 * @see {@link JpaRepository#saveAll(Iterable)}
 	 */
+	@Transactional
 	default <T, F extends UpdatableEntity<E>> List<T> changeAll(List<I> ids, F form, Function<E, T> function) {
 		
 		List<E> found = getRepository().findAllById(ids);
@@ -284,11 +683,13 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 		}
 		
 		List<E> saved = getRepository().saveAll(UpdatableEntity.of(found, form));
+		evict(ids);
 		return EntityView.of(saved, function);
 	}
 
 	/**
-	 * <p>Saves all given entities.</p>
+	 * <p>Saves all given entities.
+	 *  They are loaded and changed in one transaction, so the changes are flushed by dirty checking, without merging.</p>
 	 * 
 	 * @param <D>
 	 * @param <F>
@@ -299,6 +700,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * 
 	 * @see {@link JpaRepository#saveAll(Iterable)}
 	 */
+	@Transactional
 	default <D extends EntityView<E>, F extends UpdatableEntity<E>> List<D> changeAll(List<I> ids, F form, Class<D> clazz) {
 		
 		List<E> found = getRepository().findAllById(ids);
@@ -307,9 +709,73 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 		}
 		
 		List<E> saved = getRepository().saveAll(UpdatableEntity.of(found, form));
+		evict(ids);
 		return EntityView.of(saved, clazz);
 	}
 
+	/**
+	 * <p>Updates the entities matching the given filter in a batch which means it will create a single query,
+	 *  without loading them. The non-null properties of the form make the SET clause,
+	 *  and the audit properties of {@link BaseEntity} are stamped.
+	 *  This kind of operation leaves JPAsfirst level cache and the database out of sync.
+	 *  Consider flushing the EntityManager before calling this method.</p>
+	 * 
+	 * @param <F>
+	 * @param filter must not be null.
+	 * @param form must not be null.
+	 * @return the number of entities updated.
+	 * 
+	 * @see {@link GenericRepository#updateAllInBatch(Filter, UpdatableEntity)}
+	 */
+	default <F extends UpdatableEntity<E>> int updateAll(Filter<E> filter, F form) {
+		int count = (int) getRepository().updateAllInBatch(filter, form);
+		evict(null);
+		return count;
+	}
+
+	/**
+	 * <p>Updates the entities with the given ids in a batch which means it will create a single query
+	 *  per {@link GenericRepository#IN_CLAUSE_SIZE} ids, without loading them.
+	 *  The non-null properties of the form make the SET clause,
+	 *  and the audit properties of {@link BaseEntity} are stamped.
+	 *  This kind of operation leaves JPAsfirst level cache and the database out of sync.
+	 *  Consider flushing the EntityManager before calling this method.</p>
+	 * 
+	 * @param <F>
+	 * @param ids must not be null nor contain any null values.
+	 * @param form must not be null.
+	 * @return the number of entities updated.
+	 * 
+	 * @see {@link GenericRepository#updateAllByIdsInBatch(Iterable, UpdatableEntity)}
+	 */
+	default <F extends UpdatableEntity<E>> int updateAllByIds(List<I> ids, F form) {
+		int count = (int) getRepository().updateAllByIdsInBatch(ids, form);
+		evict(ids);
+		return count;
+	}
+
+	/**
+	 * <p>Updates the entity with the given id in a single round trip, without loading it,
+	 *  unlike {@link #change(Object, UpdatableEntity, Class)} which needs a SELECT before the UPDATE.
+	 *  The non-null properties of the form make the SET clause,
+	 *  and the audit properties of {@link BaseEntity} are stamped.
+	 *  If the form carries the version of the entity as read, the update is checked against it.
+	 *  This kind of operation leaves JPAs first level cache and the database out of sync.</p>
+	 * 
+	 * @param <F>
+	 * @param id must not be null.
+	 * @param form must not be null.
+	 * @return 1 if the entity is updated, or 0 if the form has nothing to set or no entity has the id.
+	 * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the version does not match.
+	 * 
+	 * @see {@link GenericRepository#updateByIdInBatch(Object, UpdatableEntity)}
+	 */
+	default <F extends UpdatableEntity<E>> long updateById(I id, F form) {
+		long count = getRepository().updateByIdInBatch(id, form);
+		evict(Collections.singletonList(id));
+		return count;
+	}
+
 	/**
 	 * <P>Saves a given entity. Use the returned instance for further operations
 	 *  as the save operation might have changed the entity instance completely.</p>
@@ -324,6 +790,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 */
 	default <T, F extends FormEntity<E>> T save(F form, Function<E, T> function) {
 		E saved = getRepository().save(form.getEntity());
+		evict(Collections.singletonList(getRepository().getId(saved)));
 		return function==null? null: function.apply(saved);
 	}
 
@@ -341,12 +808,14 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 */
 	default <D extends EntityView<E>, F extends FormEntity<E>> D save(F form, Class<D> clazz) {
 		E saved = getRepository().save(form.getEntity());
+		evict(Collections.singletonList(getRepository().getId(saved)));
 		return EntityView.of(saved, clazz);
 	}
 
 	/**
 	 * <P>Saves a given entity. Use the returned instance for further operations
-	 *  as the save operation might have changed the entity instance completely.</p>
+	 *  as the save operation might have changed the entity instance completely.
+	 *  It is loaded and changed in one transaction, so a single UPDATE is flushed by dirty checking, without merging.</p>
 	 * 
 	 * @param <T>
 	 * @param <F>
@@ -357,6 +826,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * 
 	 * @see {@link CrudRepository#save(Object)}
 	 */
+	@Transactional
 	default <T, F extends UpdatableEntity<E>> T change(I id, F form, Function<E, T> function) {
 		
 		Optional<E> optional = getRepository().findById(id);
@@ -365,12 +835,14 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 		}
 		
 		E saved = getRepository().save(UpdatableEntity.of(optional.get(), form));
+		evict(Collections.singletonList(id));
 		return function==null? null: function.apply(saved);
 	}
 
 	/**
 	 * <P>Saves a given entity. Use the returned instance for further operations
-	 *  as the save operation might have changed the entity instance completely.</p>
+	 *  as the save operation might have changed the entity instance completely.
+	 *  It is loaded and changed in one transaction, so a single UPDATE is flushed by dirty checking, without merging.</p>
 	 * 
 	 * @param <D>
 	 * @param <F>
@@ -381,6 +853,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * 
 	 * @see {@link CrudRepository#save(Object)}
 	 */
+	@Transactional
 	default <D extends EntityView<E>, F extends UpdatableEntity<E>> D change(I id, F form, Class<D> clazz) {
 		
 		Optional<E> optional = getRepository().findById(id);
@@ -389,6 +862,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 		}
 		
 		E saved = getRepository().save(UpdatableEntity.of(optional.get(), form));
+		evict(Collections.singletonList(id));
 		return EntityView.of(saved, clazz);
 	}
 
@@ -402,40 +876,44 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 * @see {@link CrudRepository#deleteAll(Iterable)}
 	 */
 	default <F extends FormEntity<E>> int deleteAll(List<F> list) {
-		getRepository().deleteAll(FormEntity.of(list));
+		List<E> entities = FormEntity.of(list);
+		getRepository().deleteAll(entities);
+		evict(entities.stream().map(getRepository()::getId).collect(Collectors.toList()));
 		return list.size();
 	}
 
 	/**
-	 * <p>Deletes the given entities in a batch which means it will create a single query.
+	 * <p>Deletes the entities matching the given filter in a batch which means it will create a single query,
+	 *  without loading them.
 	 *  This kind of operation leaves JPAsfirst level cache and the database out of sync.
 	 *  Consider flushing the EntityManager before calling this method.</p>
 	 * 
-	 * @param filter
-	 * @return entities to be deleted. Must not be null.
+	 * @param filter must not be null.
+	 * @return the number of entities deleted.
 	 * 
-	 * @see {@link JpaRepository#deleteAllInBatch(Iterable)}
+	 * @see {@link GenericRepository#deleteAllInBatch(Filter)}
 	 */
 	default int delete(Filter<E> filter) {
-		List<E> entities = getRepository().findAll(filter.getSpecification());
-		getRepository().deleteAllInBatch(entities);
-		return entities.size();
+		int count = (int) getRepository().deleteAllInBatch(filter);
+		evict(null);
+		return count;
 	}
 
 	/**
-	 * <p>Deletes the given entities in a batch which means it will create a single query.
+	 * <p>Deletes the entities with the given ids in a batch which means it will create a single query
+	 *  per {@link GenericRepository#IN_CLAUSE_SIZE} ids, without loading them.
 	 *  This kind of operation leaves JPAsfirst level cache and the database out of sync.
 	 *  Consider flushing the EntityManager before calling this method.</p>
 	 * 
-	 * @param ids
-	 * @return entities to be deleted. Must not be null.
+	 * @param ids must not be null nor contain any null values.
+	 * @return the number of entities deleted.
 	 * 
-	 * @see {@link JpaRepository#deleteAllInBatch(Iterable)}
+	 * @see {@link GenericRepository#deleteAllByIdsInBatch(Iterable)}
 	 */
 	default int deleteAllByIds(List<I> ids) {
-		List<E> entities = getRepository().findAllById(ids);
-		getRepository().deleteAllInBatch(entities);
-		return entities.size();
+		int count = (int) getRepository().deleteAllByIdsInBatch(ids);
+		evict(ids);
+		return count;
 	}
 
 	/**
@@ -449,6 +927,7 @@ public interface GenericService<E, I, R extends GenericRepository<E, I>> {
 	 */
 	default int deleteById(I id) {
 		getRepository().deleteById(id);
+		evict(Collections.singletonList(id));
 		return 1;
 	}
 }
@@ -0,0 +1,114 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * <p>Micrometer meters of the repositories and views, registered in {@link Metrics#globalRegistry},
+ *  which Spring Boot Actuator backs with its own registry.
+ *  Without a registry the meters are no-ops.
+ *  The meters are registered once per name and tags, and kept for later calls.</p>
+ * <ul>
+ * <li>{@value #QUERY}: timer of the queries, tagged by {@code entity} and {@code query}, either {@code content} or {@code count}.</li>
+ * <li>{@value #ROWS}: distribution of the number of rows read, tagged by {@code entity} and {@code operation}.</li>
+ * <li>{@value #MAPPING}: timer of mapping entities to views, tagged by {@code view}.</li>
+ * </ul>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @see {@link us.jyni.frame.config.ServiceMetrics}
+ */
+final class JpaMetrics {
+
+	static final String QUERY = "frame.jpa.query";
+
+	static final String ROWS = "frame.jpa.rows";
+
+	static final String MAPPING = "frame.jpa.mapping";
+
+	private static final Map<List<Object>, Timer> TIMERS = new ConcurrentHashMap<>();
+
+	private static final Map<List<Object>, DistributionSummary> SUMMARIES = new ConcurrentHashMap<>();
+
+	private JpaMetrics() {}
+
+	/**
+	 * @param <T>
+	 * @param entity
+	 * @param query
+	 * @return the rows of the query.
+	 */
+	static <T> List<T> content(Class<?> entity, Supplier<List<T>> query) {
+		return content(entity, "content", query);
+	}
+
+	/**
+	 * @param <T>
+	 * @param entity
+	 * @param operation
+	 * @param query
+	 * @return the rows of the query.
+	 */
+	static <T> List<T> content(Class<?> entity, String operation, Supplier<List<T>> query) {
+
+		List<T> rows = query(entity, "content").record(query);
+
+		SUMMARIES.computeIfAbsent(Arrays.asList(entity, operation), k->DistributionSummary.builder(ROWS)
+				.tag("entity", entity.getSimpleName())
+				.tag("operation", operation)
+				.register(Metrics.globalRegistry))
+				.record(rows.size());
+
+		return rows;
+	}
+
+	/**
+	 * @param entity
+	 * @param counter
+	 * @return the counter, timed.
+	 */
+	static LongSupplier count(Class<?> entity, LongSupplier counter) {
+
+		Timer timer = query(entity, "count");
+		return ()->timer.record(counter::getAsLong);
+	}
+
+	/**
+	 * @param <T>
+	 * @param view null for a function.
+	 * @param mapping
+	 * @return the views.
+	 */
+	static <T> List<T> mapping(@Nullable Class<?> view, Supplier<List<T>> mapping) {
+		return TIMERS.computeIfAbsent(Arrays.asList(MAPPING, view), k->Timer.builder(MAPPING)
+				.tag("view", view==null? "function": view.getSimpleName())
+				.register(Metrics.globalRegistry))
+				.record(mapping);
+	}
+
+	/**
+	 * @param entity
+	 * @param query either {@code content} or {@code count}.
+	 * @return the timer of the queries.
+	 */
+	private static Timer query(Class<?> entity, String query) {
+		return TIMERS.computeIfAbsent(Arrays.asList(QUERY, entity, query), k->Timer.builder(QUERY)
+				.tag("entity", entity.getSimpleName())
+				.tag("query", query)
+				.register(Metrics.globalRegistry));
+	}
+}
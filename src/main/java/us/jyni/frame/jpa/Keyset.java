@@ -0,0 +1,204 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.util.StringUtils;
+
+/**
+ * <p>Cursor encoding and seek predicate of keyset pagination.
+ *  A cursor holds the string forms of the sort keys of a row; they are converted back to
+ *  the attribute types of the entity when the predicate is built, so no class names travel with it.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @see {@link KeysetFilter}
+ */
+final class Keyset {
+
+	private static final String SEPARATOR = ".";
+
+	private Keyset() {}
+
+	/**
+	 * @param sort
+	 * @param id the id attribute, appended if missing.
+	 * @return never unsorted.
+	 */
+	static Sort sort(Sort sort, String id) {
+		return sort.getOrderFor(id)!=null? sort: sort.and(Sort.by(id));
+	}
+
+	/**
+	 * @param entity the last row of a slice.
+	 * @param sort
+	 * @return
+	 * @throws IllegalStateException if a sort property of the entity is null
+	 */
+	static String encode(Object entity, Sort sort) {
+
+		BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+		StringJoiner joiner = new StringJoiner(SEPARATOR);
+		for(Order order: sort) {
+
+			Object value = wrapper.getPropertyValue(order.getProperty());
+			if(value==null) {
+				throw new IllegalStateException("Keyset property must not be null: " + order.getProperty());
+			}
+
+			// ISO forms of the java.time types, parsed back by convert
+			String text = value instanceof TemporalAccessor? value.toString(): DefaultConversionService.getSharedInstance().convert(value, String.class);
+			joiner.add(Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8)));
+		}
+
+		return joiner.toString();
+	}
+
+	/**
+	 * @param cursor
+	 * @return empty if the cursor is empty.
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	static List<String> decode(String cursor) {
+
+		if(!StringUtils.hasLength(cursor)) {
+			return Collections.emptyList();
+		}
+
+		List<String> values = new ArrayList<>();
+		for(String token: StringUtils.delimitedListToStringArray(cursor, SEPARATOR)) {
+			values.add(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+		}
+
+		return values;
+	}
+
+	/**
+	 * <p>{@code (k1 > v1) or (k1 = v1 and k2 > v2) or ...}, with {@code <} for descending keys.</p>
+	 * 
+	 * @param root
+	 * @param builder
+	 * @param sort
+	 * @param values decoded cursor.
+	 * @return
+	 * @throws IllegalArgumentException if the cursor does not match the sort
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static Predicate predicate(Root<?> root, CriteriaBuilder builder, Sort sort, List<String> values) {
+
+		List<Order> orders = sort.toList();
+		if(orders.size()!=values.size()) {
+			throw new IllegalArgumentException("Cursor does not match the sort: " + sort);
+		}
+
+		List<Predicate> or = new ArrayList<>();
+		List<Predicate> and = new ArrayList<>();
+		for(int i=0; i<orders.size(); i++) {
+
+			Path<Comparable> path = path(root, orders.get(i).getProperty());
+			Comparable value = (Comparable) convert(values.get(i), type(path, orders.get(i).getProperty()));
+
+			List<Predicate> p = new ArrayList<>(and);
+			p.add(orders.get(i).isAscending()? builder.greaterThan(path, value): builder.lessThan(path, value));
+			or.add(builder.and(p.toArray(new Predicate[p.size()])));
+
+			and.add(builder.equal(path, value));
+		}
+
+		return builder.or(or.toArray(new Predicate[or.size()]));
+	}
+
+	/**
+	 * @param <T>
+	 * @param root
+	 * @param property may be nested with dots.
+	 * @return
+	 */
+	private static <T> Path<T> path(Root<?> root, String property) {
+
+		Path<?> path = root;
+		for(String name: StringUtils.delimitedListToStringArray(property, ".")) {
+			path = path.get(name);
+		}
+
+		@SuppressWarnings("unchecked")
+		Path<T> result = (Path<T>) path;
+		return result;
+	}
+
+	/**
+	 * <p>The attribute type, resolved against the owning class when declared by a generic super class
+	 *  like {@link BaseEntity#getId()}.</p>
+	 * 
+	 * @param path
+	 * @param property
+	 * @return
+	 */
+	private static Class<?> type(Path<?> path, String property) {
+
+		if(path.getJavaType()!=Object.class || path.getParentPath()==null) {
+			return path.getJavaType();
+		}
+
+		Class<?> owner = path.getParentPath().getJavaType();
+		PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(owner, StringUtils.unqualify(property));
+		return pd==null || pd.getReadMethod()==null? Object.class: ResolvableType.forMethodReturnType(pd.getReadMethod(), owner).resolve(Object.class);
+	}
+
+	/**
+	 * @param text
+	 * @param type
+	 * @return
+	 */
+	private static Object convert(String text, Class<?> type) {
+
+		if(type==LocalDateTime.class) {
+			return LocalDateTime.parse(text);
+		}
+		else if(type==LocalDate.class) {
+			return LocalDate.parse(text);
+		}
+		else if(type==LocalTime.class) {
+			return LocalTime.parse(text);
+		}
+		else if(type==Instant.class) {
+			return Instant.parse(text);
+		}
+		else if(type==OffsetDateTime.class) {
+			return OffsetDateTime.parse(text);
+		}
+		else if(type==ZonedDateTime.class) {
+			return ZonedDateTime.parse(text);
+		}
+
+		return DefaultConversionService.getSharedInstance().convert(text, type);
+	}
+}
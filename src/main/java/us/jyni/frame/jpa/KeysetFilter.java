@@ -0,0 +1,50 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>A {@link Filter} for keyset (seek) pagination.
+ *  Instead of an offset, the next slice starts after the sort keys of the last row of the previous one,
+ *  so a deep slice costs the same as the first one and no count query is issued.</p>
+ * <p>The sort properties must not be null. The id is appended to the sort if missing, to make the order total.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ *
+ * @param <E> Entity
+ * 
+ * @see {@link KeysetSlice#getNextCursor()}
+ */
+public interface KeysetFilter<E> extends Filter<E> {
+
+	/**
+	 * <p>Sorts by {@code id} of {@link BaseEntity}, descending, by default;
+	 *  audit properties like {@code modifiedDate} may be null, so rows of null keys would be skipped or repeated.</p>
+	 * 
+	 * @return
+	 */
+	@Override
+	default Sort getSort() {
+		return Sort.by(Direction.DESC, "id");
+	}
+
+	/**
+	 * @return the maximum number of rows of a slice; must be positive.
+	 */
+	default int getSize() {
+		return 20;
+	}
+
+	/**
+	 * @return {@link KeysetSlice#getNextCursor()} of the previous slice, or null for the first slice.
+	 */
+	@Nullable
+	default String getCursor() {
+		return null;
+	}
+}
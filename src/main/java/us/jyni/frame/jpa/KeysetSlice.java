@@ -0,0 +1,52 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>A {@link org.springframework.data.domain.Slice} of keyset pagination, carrying the cursor of the next slice.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ *
+ * @param <T>
+ * 
+ * @see {@link KeysetFilter}
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+	private static final long serialVersionUID = 3274052185561837052L;
+
+	private final String nextCursor;
+
+	/**
+	 * @param content
+	 * @param pageable
+	 * @param hasNext
+	 * @param nextCursor
+	 */
+	public KeysetSlice(List<T> content, Pageable pageable, boolean hasNext, @Nullable String nextCursor) {
+		super(content, pageable, hasNext);
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * @return an opaque cursor to pass as {@link KeysetFilter#getCursor()}; null if there is no next slice.
+	 */
+	@Nullable
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	@Override
+	public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+		return new KeysetSlice<U>(getConvertedContent(converter), getPageable(), hasNext(), nextCursor);
+	}
+}
@@ -3,6 +3,8 @@
  */
 package us.jyni.frame.jpa;
 
+import java.time.Duration;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
@@ -29,4 +31,18 @@ public interface PageableFilter<E> extends Filter<E>, Pageable {
 	default Pageable getPageable() {
 		return Pageable.unpaged();
 	}
+
+	/**
+	 * @return {@link CountStrategy#EXACT} by default.
+	 */
+	default CountStrategy getCountStrategy() {
+		return CountStrategy.EXACT;
+	}
+
+	/**
+	 * @return how long {@link CountStrategy#CACHED} keeps a count; a minute by default.
+	 */
+	default Duration getCountTimeToLive() {
+		return Duration.ofMinutes(1);
+	}
 }
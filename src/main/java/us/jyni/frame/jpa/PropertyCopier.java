@@ -0,0 +1,143 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * <p>A pre-resolved equivalent of {@link BeanUtils#copyProperties(Object, Object)}
+ *  for one pair of source and target classes.
+ *  The matching property pairs are computed once and cached per pair of classes.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ */
+public final class PropertyCopier {
+
+	private static final Map<List<Class<?>>, PropertyCopier> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * @param source
+	 * @param target
+	 * @return never null.
+	 */
+	public static PropertyCopier of(Class<?> source, Class<?> target) {
+		return CACHE.computeIfAbsent(Arrays.asList(source, target), k->new PropertyCopier(source, target));
+	}
+
+	private final BeanProperties.Property[] sources;
+
+	private final BeanProperties.Property[] targets;
+
+	private PropertyCopier(Class<?> source, Class<?> target) {
+
+		BeanProperties sourceProperties = BeanProperties.of(source);
+		List<BeanProperties.Property> s = new ArrayList<>();
+		List<BeanProperties.Property> t = new ArrayList<>();
+
+		for(BeanProperties.Property property: BeanProperties.of(target).values()) {
+
+			BeanProperties.Property from = sourceProperties.get(property.getName());
+			if(property.isWritable() && from!=null && from.isReadable() && isAssignable(from, property)) {
+				s.add(from);
+				t.add(property);
+			}
+		}
+
+		this.sources = s.toArray(new BeanProperties.Property[s.size()]);
+		this.targets = t.toArray(new BeanProperties.Property[t.size()]);
+	}
+
+	/**
+	 * <p>Copies the property values of the given source bean into the given target bean.</p>
+	 *
+	 * @param source
+	 * @param target
+	 * @throws FatalBeanException if the copying failed
+	 */
+	public void copy(Object source, Object target) {
+
+		for(int i=0; i<targets.length; i++) {
+
+			try {
+				targets[i].write(target, sources[i].read(source));
+			}
+			catch (RuntimeException e) {
+				throw new FatalBeanException("Could not copy property '" + targets[i].getName() + "' from source to target", e);
+			}
+		}
+	}
+
+	/**
+	 * <p>Copies the property values of the given source bean into the given target bean,
+	 *  skipping values equal to the current value of the target.</p>
+	 * 
+	 * @param source
+	 * @param target
+	 * @param ignoreNull if true, null values of the source are not copied.
+	 * @return the names of the properties actually changed; never null.
+	 * @throws FatalBeanException if the copying failed
+	 */
+	public List<String> merge(Object source, Object target, boolean ignoreNull) {
+
+		List<String> changed = null;
+		for(int i=0; i<targets.length; i++) {
+
+			try {
+				Object value = sources[i].read(source);
+				if(value==null && ignoreNull) {
+					continue;
+				}
+
+				if(targets[i].isReadable() && ObjectUtils.nullSafeEquals(value, targets[i].read(target))) {
+					continue;
+				}
+
+				targets[i].write(target, value);
+			}
+			catch (RuntimeException e) {
+				throw new FatalBeanException("Could not copy property '" + targets[i].getName() + "' from source to target", e);
+			}
+
+			if(changed==null) {
+				changed = new ArrayList<>();
+			}
+			changed.add(targets[i].getName());
+		}
+
+		return changed==null? Collections.emptyList(): changed;
+	}
+
+	/**
+	 * <p>Same rule as {@link BeanUtils#copyProperties(Object, Object)}.</p>
+	 *
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	private static boolean isAssignable(BeanProperties.Property from, BeanProperties.Property to) {
+
+		Method readMethod = from.getDescriptor().getReadMethod();
+		Method writeMethod = to.getDescriptor().getWriteMethod();
+
+		ResolvableType sourceType = ResolvableType.forMethodReturnType(readMethod);
+		ResolvableType targetType = ResolvableType.forMethodParameter(writeMethod, 0);
+
+		return sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics()?
+				ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType()):
+				targetType.isAssignableFrom(sourceType);
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+
+import us.jyni.frame.util.ExpiringCache;
+
+/**
+ * <p>A cache of query results by {@link Filter#getCacheKey()}, for one {@link GenericService}.
+ *  The key of a result is made of the class, the cache key, the sort and the page of the filter, and the view class;
+ *  results of filters without a cache key are not cached.
+ *  Cached results are shared between callers, so must not be modified; cached lists are unmodifiable.</p>
+ * <p>The entries are bounded in number and expire after a time to live, the least recently used first.
+ *  Any write of the service clears the cache, now and again after the completion of its transaction.
+ *  Results read inside a read-write transaction are not cached, since they may hold its uncommitted changes,
+ *  and a result is not cached if the cache was cleared while it was loaded,
+ *  so a read that ran before a concurrent write committed cannot put it back after the clearing.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ * 
+ * @see {@link GenericService#getQueryCache()}
+ */
+public class QueryCache {
+
+	private final ExpiringCache<Object, Object> cache;
+
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @param maximumSize maximum number of results.
+	 * @param timeToLive
+	 */
+	public QueryCache(int maximumSize, Duration timeToLive) {
+		this.cache = new ExpiringCache<>(maximumSize, timeToLive);
+	}
+
+	/**
+	 * <p>Returns the cached result of the given filter, loading and caching it if absent.</p>
+	 * 
+	 * @param <T>
+	 * @param cache can be null, to load without caching.
+	 * @param filter can be null, to load without caching.
+	 * @param loader
+	 * @param parts what else identifies the result, like the operation and the view class.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T get(@Nullable QueryCache cache, @Nullable Filter<?> filter, Supplier<T> loader, Object... parts) {
+
+		Object key = cache==null || filter==null? null: filter.getCacheKey();
+		if(key==null || ViewCache.isReadWrite()) {
+			return loader.get();
+		}
+
+		List<Object> list = new ArrayList<>(Arrays.asList(filter.getClass(), key, filter.getSort()));
+		if(filter instanceof PageableFilter) {
+
+			PageableFilter<?> pageable = (PageableFilter<?>) filter;
+			Pageable page = pageable.getPageable();
+			list.add(page.isPaged()? PageRequest.of(page.getPageNumber(), page.getPageSize(), page.getSort()): null);
+			list.add(pageable.getCountStrategy());
+		}
+		list.addAll(Arrays.asList(parts));
+
+		Object result = cache.cache.get(list);
+		if(result==null) {
+			long generation = cache.generation.get();
+			result = unmodifiable(loader.get());
+			cache.put(list, result, generation);
+		}
+
+		return (T) result;
+	}
+
+	/**
+	 * @param key
+	 * @param result ignored if null.
+	 * @param generation read before loading the result; ignored if the cache was cleared since.
+	 */
+	private synchronized void put(Object key, @Nullable Object result, long generation) {
+		if(result!=null && generation==this.generation.get()) {
+			cache.put(key, result);
+		}
+	}
+
+	/**
+	 * 
+	 */
+	public void clear() {
+		ViewCache.nowAndAfterCompletion(()->{
+			synchronized(this) {
+				generation.incrementAndGet();
+				cache.clear();
+			}
+		});
+	}
+
+	/**
+	 * @param result
+	 * @return
+	 */
+	private static Object unmodifiable(Object result) {
+
+		if(result instanceof Page) {
+			Page<?> page = (Page<?>) result;
+			return new PageImpl<>(Collections.unmodifiableList(page.getContent()), page.getPageable(), page.getTotalElements());
+		}
+		else if(result instanceof List) {
+			return Collections.unmodifiableList((List<?>) result);
+		}
+
+		return result;
+	}
+}
@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
 
 /**
  * @author jynius
@@ -43,10 +44,37 @@ public interface UpdatableEntity<E> {
 		return entity;
 	}
 	
+	/**
+	 * <p>If true, null properties of this form are not copied into the entity.</p>
+	 * 
+	 * @return false by default.
+	 */
+	default boolean ignoreNull() {
+		return false;
+	}
+	
+	/**
+	 * <p>Copies the properties of this form into the given entity
+	 *  and returns the names of the properties actually changed.
+	 *  Values equal to the current ones are not written, so Hibernate finds nothing dirty for them.</p>
+	 * 
+	 * @param entity must not be null.
+	 * @return never null.
+	 * @throws FatalBeanException if the copying failed
+	 * 
+	 * @see {@link PropertyCopier#merge(Object, Object, boolean)}
+	 */
+	default List<String> apply(E entity) {
+		return PropertyCopier.of(getClass(), entity.getClass()).merge(this, entity, ignoreNull());
+	}
+	
 	/**
 	 * @param entity
+	 * 
+	 * @see {@link BeanUtils#copyProperties(Object, Object)}
+	 * @see {@link #apply(Object)}
 	 */
 	default void update(E entity) {
-		BeanUtils.copyProperties(this, entity);
+		apply(entity);
 	}
 }
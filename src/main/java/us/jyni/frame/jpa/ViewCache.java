@@ -0,0 +1,126 @@
+/*
+ * 
+ */
+package us.jyni.frame.jpa;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import us.jyni.frame.util.ExpiringCache;
+
+/**
+ * <p>A read-through cache of views by entity id, for one {@link GenericService}.
+ *  Holds the views mapped from an entity, never the managed entity itself;
+ *  cached views are shared between callers, so must not be modified.</p>
+ * <p>The entries are bounded in number and expire after a time to live, the least recently used first.
+ *  Evictions are repeated after the completion of the current transaction, whether committed or rolled back.
+ *  Views read inside a read-write transaction are not put, since they may hold its uncommitted changes,
+ *  and a put is dropped if any eviction ran since its {@link #getGeneration()} was read before loading,
+ *  so a read that loaded a row before a concurrent write committed cannot put it back after the eviction.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ *
+ * @param <I> Identity
+ * 
+ * @see {@link GenericService#getViewCache()}
+ */
+public class ViewCache<I> {
+
+	private final ExpiringCache<I, Map<Class<?>, Object>> cache;
+
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @param maximumSize maximum number of ids.
+	 * @param timeToLive
+	 */
+	public ViewCache(int maximumSize, Duration timeToLive) {
+		this.cache = new ExpiringCache<>(maximumSize, timeToLive);
+	}
+
+	/**
+	 * @param <D>
+	 * @param id
+	 * @param clazz
+	 * @return null if not cached.
+	 */
+	@Nullable
+	public <D> D get(I id, Class<D> clazz) {
+		Map<Class<?>, Object> views = cache.get(id);
+		return views==null? null: clazz.cast(views.get(clazz));
+	}
+
+	/**
+	 * @return the number of evictions so far; read before loading a view to {@link #put(Object, Object, long)}.
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * @param id
+	 * @param view ignored if null.
+	 * @param generation {@link #getGeneration()} read before loading the view; ignored if an eviction ran since.
+	 */
+	public synchronized void put(I id, @Nullable Object view, long generation) {
+
+		if(view==null || generation!=this.generation.get() || isReadWrite()) {
+			return;
+		}
+
+		Map<Class<?>, Object> views = cache.get(id, k->new ConcurrentHashMap<>());
+		views.put(view.getClass(), view);
+	}
+
+	/**
+	 * @param ids null to evict all.
+	 */
+	public void evict(@Nullable Collection<I> ids) {
+		nowAndAfterCompletion(()->{
+			synchronized(this) {
+				generation.incrementAndGet();
+				if(ids==null) {
+					cache.clear();
+				}
+				else {
+					ids.forEach(cache::remove);
+				}
+			}
+		});
+	}
+
+	/**
+	 * @return whether the current thread is in a read-write transaction, whose reads may not be committed.
+	 */
+	static boolean isReadWrite() {
+		return TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	/**
+	 * <p>Runs the given eviction now, and again after the completion of the current transaction if any.
+	 *  On rollback too, since a view read inside the transaction may hold its changes.</p>
+	 * 
+	 * @param eviction
+	 */
+	static void nowAndAfterCompletion(Runnable eviction) {
+
+		eviction.run();
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(int status) {
+					eviction.run();
+				}
+			});
+		}
+	}
+}
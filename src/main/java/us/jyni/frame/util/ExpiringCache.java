@@ -0,0 +1,138 @@
+/*
+ * 
+ */
+package us.jyni.frame.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>A size bounded, least recently used cache whose entries expire after a time to live.
+ *  Null values are not cached. Safe for concurrent use.</p>
+ * 
+ * @author jynius
+ * @Since 2026-10-18
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class ExpiringCache<K, V> {
+
+	private final Duration timeToLive;
+
+	private final Map<K, Entry<V>> map;
+
+	/**
+	 * @param maximumSize the least recently used entry is evicted beyond this size.
+	 * @param timeToLive default time to live of an entry.
+	 */
+	public ExpiringCache(int maximumSize, Duration timeToLive) {
+
+		this.timeToLive = timeToLive;
+		this.map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 2960133683315207394L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > maximumSize;
+			}
+		};
+	}
+
+	/**
+	 * @param key
+	 * @return null if absent or expired.
+	 */
+	public synchronized V get(K key) {
+
+		Entry<V> entry = map.get(key);
+		if(entry==null) {
+			return null;
+		}
+
+		if(entry.expired()) {
+			map.remove(key);
+			return null;
+		}
+
+		return entry.value;
+	}
+
+	/**
+	 * <p>Returns the cached value, loading and caching it if absent or expired.
+	 *  The loader runs outside the lock, so concurrent misses of a key may load it more than once.</p>
+	 * 
+	 * @param key
+	 * @param loader
+	 * @return
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+
+		V value = get(key);
+		if(value==null) {
+			value = loader.apply(key);
+			put(key, value);
+		}
+
+		return value;
+	}
+
+	/**
+	 * @param key
+	 * @param value ignored if null.
+	 */
+	public void put(K key, V value) {
+		put(key, value, timeToLive);
+	}
+
+	/**
+	 * @param key
+	 * @param value ignored if null.
+	 * @param timeToLive
+	 */
+	public synchronized void put(K key, V value, Duration timeToLive) {
+		if(value!=null) {
+			map.put(key, new Entry<>(value, System.nanoTime() + timeToLive.toNanos()));
+		}
+	}
+
+	/**
+	 * @param key
+	 */
+	public synchronized void remove(K key) {
+		map.remove(key);
+	}
+
+	/**
+	 * 
+	 */
+	public synchronized void clear() {
+		map.clear();
+	}
+
+	/**
+	 * @return the number of entries, expired ones included.
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean expired() {
+			return System.nanoTime() - expiresAt > 0;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package us.jyni.frame.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@SpringBootTest(properties = {
+		"frame.datasource.routing.enabled=true",
+		"frame.datasource.routing.sticky-window=1m",
+		"spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+		"frame.datasource.routing.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+		"frame.datasource.routing.replicas[0].username=sa" })
+class ReplicaRoutingDataSourceTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	@Qualifier(ReplicaRoutingConfig.PRIMARY_DATA_SOURCE)
+	private DataSource primary;
+
+	@Autowired
+	@Qualifier(ReplicaRoutingConfig.REPLICA_DATA_SOURCE + "0")
+	private DataSource replica;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		ReplicaRoutingDataSource.clearWritten();
+	}
+
+	@Test
+	void poolsAreBeans() {
+		assertThat(primary).isInstanceOf(HikariDataSource.class);
+		assertThat(replica).isInstanceOf(HikariDataSource.class);
+	}
+
+	@Test
+	void readOnlyGoesToReplica() {
+		assertThat(database(true)).isEqualTo("REPLICA");
+	}
+
+	@Test
+	void readWriteGoesToPrimary() {
+		assertThat(database(false)).isEqualTo("PRIMARY");
+	}
+
+	@Test
+	void readAfterWriteGoesToPrimary() {
+
+		database(false);
+		assertThat(database(true)).isEqualTo("PRIMARY");
+
+		ReplicaRoutingDataSource.clearWritten();
+		assertThat(database(true)).isEqualTo("REPLICA");
+	}
+
+	private String database(boolean readOnly) {
+
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		return template.execute(status->jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+	}
+}
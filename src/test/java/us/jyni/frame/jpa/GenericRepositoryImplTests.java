@@ -0,0 +1,229 @@
+package us.jyni.frame.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=us.jyni.frame.jpa.StatementCapture")
+class GenericRepositoryImplTests {
+
+	@Autowired
+	private UpsertSampleRepository repository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		repository.deleteAllInBatch();
+		repository.saveAll(List.of(UpsertSample.of(1, "one", "a"), UpsertSample.of(2, "two", "b")));
+	}
+
+	@Test
+	void upsertAllInsertsAndUpdates() {
+
+		assertThat(repository.upsertAll(List.of(UpsertSample.of(2, "zwei", "x"), UpsertSample.of(3, "three", "c")), 1)).isEqualTo(2);
+
+		assertThat(repository.count()).isEqualTo(3);
+		assertThat(repository.findById(2L)).get().extracting(UpsertSample::getName).isEqualTo("zwei");
+		assertThat(repository.findById(3L)).get().extracting(UpsertSample::getName).isEqualTo("three");
+		assertThat(repository.findById(3L).get().getModifiedDate()).isNotNull();
+	}
+
+	@Test
+	void upsertAllKeepsColumnsNotUpdatable() {
+
+		repository.upsertAll(List.of(UpsertSample.of(1, "uno", "x")), 10);
+
+		UpsertSample sample = repository.findById(1L).get();
+		assertThat(sample.getName()).isEqualTo("uno");
+		assertThat(sample.getCode()).isEqualTo("a");
+	}
+
+	@Test
+	void upsertAllKeepsTheContextOfTheCaller() {
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status->{
+
+			UpsertSample other = entityManager.find(UpsertSample.class, 1L);
+			UpsertSample stale = entityManager.find(UpsertSample.class, 2L);
+			repository.upsertAll(List.of(UpsertSample.of(2, "zwei", "b")), 10);
+
+			assertThat(entityManager.contains(other)).isTrue();
+			assertThat(entityManager.contains(stale)).isFalse();
+			assertThat(entityManager.find(UpsertSample.class, 2L).getName()).isEqualTo("zwei");
+		});
+	}
+
+	@Test
+	void bulkStatementsRejectSpecificationsUsingTheQuery() {
+
+		Filter<UpsertSample> filter = ()->(root, query, builder)->{
+			query.distinct(true);
+			return builder.equal(root.get("name"), "one");
+		};
+
+		assertThatThrownBy(()->repository.deleteAllInBatch(filter))
+				.isInstanceOf(InvalidDataAccessApiUsageException.class)
+				.hasRootCauseInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("distinct");
+		assertThatThrownBy(()->repository.updateAllInBatch(filter, new UpsertSampleForm("uno", null)))
+				.hasRootCauseInstanceOf(IllegalArgumentException.class);
+		assertThat(repository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void bulkStatementsKeepNullPointerExceptionsOfTheSpecification() {
+
+		String name = null;
+		Filter<UpsertSample> filter = ()->(root, query, builder)->builder.equal(root.get("name"), name.trim());
+
+		assertThatThrownBy(()->repository.deleteAllInBatch(filter))
+				.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	void updateByIdInBatchMatchesAndIncrementsTheVersion() {
+
+		long version = repository.findById(1L).get().getVersion();
+		assertThat(repository.updateByIdInBatch(1L, new UpsertSampleForm("uno", null, version))).isEqualTo(1);
+
+		UpsertSample sample = repository.findById(1L).get();
+		assertThat(sample.getName()).isEqualTo("uno");
+		assertThat(sample.getVersion()).isEqualTo(version + 1);
+	}
+
+	@Test
+	void updateByIdInBatchRejectsStaleVersion() {
+
+		long version = repository.findById(1L).get().getVersion();
+		repository.updateByIdInBatch(1L, new UpsertSampleForm("uno", null));
+
+		assertThatThrownBy(()->repository.updateByIdInBatch(1L, new UpsertSampleForm("eins", null, version)))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertThat(repository.findById(1L).get().getName()).isEqualTo("uno");
+	}
+
+	@Test
+	void updateByIdInBatchUpdatesNothing() {
+
+		assertThat(repository.updateByIdInBatch(1L, new UpsertSampleForm(null, null, 0L))).isZero();
+		assertThat(repository.updateByIdInBatch(9L, new UpsertSampleForm("nine", null))).isZero();
+		assertThat(repository.findById(1L).get().getVersion()).isZero();
+	}
+
+	@Test
+	void updateAllInBatchStampsTheModifiedDate() {
+
+		LocalDateTime past = LocalDateTime.of(2000, 1, 1, 0, 0);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status->entityManager
+				.createQuery("update UpsertSample set modifiedDate = :past")
+				.setParameter("past", past)
+				.executeUpdate());
+
+		LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+		Filter<UpsertSample> filter = ()->SpecificationBuilder.of(UpsertSample.class).eq("name", "one").build();
+		assertThat(repository.updateAllInBatch(filter, new UpsertSampleForm("uno", null))).isEqualTo(1);
+
+		assertThat(repository.findById(1L).get().getModifiedDate()).isAfter(before);
+		assertThat(repository.findById(2L).get().getModifiedDate()).isEqualTo(past);
+	}
+
+	@Test
+	void findAllByIdsKeepsTheOrderOfTheIds() {
+
+		repository.saveAll(List.of(UpsertSample.of(3, "three", "c"), UpsertSample.of(4, "four", "d")));
+
+		List<Long> ids = repository.findAllByIds(List.of(3L, 9L, 1L, 3L, 4L), null).stream()
+				.map(UpsertSample::getId)
+				.collect(Collectors.toList());
+		assertThat(ids).containsExactly(3L, 1L, 4L);
+	}
+
+	@Test
+	void findAllByIdsPadsTheInListToAPowerOfTwo() {
+
+		repository.saveAll(List.of(UpsertSample.of(3, "three", "c")));
+
+		StatementCapture.clear();
+		assertThat(repository.findAllByIds(List.of(3L, 2L, 1L), null)).hasSize(3);
+		assertThat(parameters(" in (")).containsExactly(4);
+
+		StatementCapture.clear();
+		List<Long> ids = LongStream.rangeClosed(1, GenericRepository.IN_CLAUSE_SIZE + 3).boxed().collect(Collectors.toList());
+		assertThat(repository.findAllByIds(ids, null)).hasSize(3);
+		assertThat(parameters(" in (")).containsExactly(GenericRepository.IN_CLAUSE_SIZE, 4);
+	}
+
+	@Test
+	void startsWithEscapesLikeWildcards() {
+
+		repository.saveAll(List.of(UpsertSample.of(3, "50%_off", "c"), UpsertSample.of(4, "50%-off", "d"),
+				UpsertSample.of(5, "a\\b", "e"), UpsertSample.of(6, "a\\c", "f"), UpsertSample.of(7, "500_off", "g")));
+
+		assertThat(names("50%_")).containsExactly("50%_off");
+		assertThat(names("50%")).containsExactly("50%-off", "50%_off");
+		assertThat(names("a\\b")).containsExactly("a\\b");
+		assertThat(names("_")).isEmpty();
+	}
+
+	@Test
+	void upsertAllRejectsNonPositiveBatchSize() {
+		assertThatThrownBy(()->repository.upsertAll(List.of(UpsertSample.of(3, "three", "c")), 0))
+				.isInstanceOf(InvalidDataAccessApiUsageException.class);
+	}
+
+	private List<String> names(String prefix) {
+
+		Filter<UpsertSample> filter = new Filter<UpsertSample>() {
+
+			@Override
+			public Specification<UpsertSample> getSpecification() {
+				return SpecificationBuilder.of(UpsertSample.class).startsWith("name", prefix).build();
+			}
+
+			@Override
+			public Sort getSort() {
+				return Sort.by("name");
+			}
+		};
+
+		return repository.findAll(filter).stream().map(UpsertSample::getName).collect(Collectors.toList());
+	}
+
+	private static List<Integer> parameters(String clause) {
+
+		List<Integer> counts = new ArrayList<>();
+		for(String sql: StatementCapture.get()) {
+
+			int start = sql.indexOf(clause);
+			if(start>=0) {
+				int end = sql.indexOf(')', start);
+				counts.add((int) sql.substring(start, end).chars().filter(c->c=='?').count());
+			}
+		}
+
+		return counts;
+	}
+}
@@ -0,0 +1,142 @@
+package us.jyni.frame.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+
+@SpringBootTest
+class KeysetTests {
+
+	private static final int ROWS = 25;
+
+	private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6000);
+
+	@Autowired
+	private UpsertSampleRepository repository;
+
+	@BeforeEach
+	void setUp() {
+
+		repository.deleteAllInBatch();
+		List<UpsertSample> samples = new ArrayList<>();
+		for(long id=1; id<=ROWS; id++) {
+			UpsertSample sample = UpsertSample.of(id, "n" + id % 4, "c" + id % 3);
+			sample.setCreatedDate(BASE.plusMinutes(id % 5));
+			samples.add(sample);
+		}
+		repository.saveAll(samples);
+	}
+
+	@Test
+	void pagesByDefaultSortOfId() {
+		assertThat(ids(Sort.by(Direction.DESC, "id"), 4)).isEqualTo(expected(Sort.by(Direction.DESC, "id")));
+	}
+
+	@Test
+	void pagesThroughDuplicateKeysWithIdTieBreaker() {
+		assertThat(ids(Sort.by("name"), 4)).isEqualTo(expected(Sort.by("name", "id")));
+	}
+
+	@Test
+	void pagesThroughMixedDirections() {
+
+		Sort sort = Sort.by(Direction.ASC, "name").and(Sort.by(Direction.DESC, "createdDate"));
+		assertThat(ids(sort, 3)).isEqualTo(expected(sort.and(Sort.by("id"))));
+	}
+
+	@Test
+	void pagesThroughDescendingIdTieBreaker() {
+
+		Sort sort = Sort.by(Direction.DESC, "code").and(Sort.by(Direction.DESC, "id"));
+		assertThat(ids(sort, 7)).isEqualTo(expected(sort));
+	}
+
+	@Test
+	void lastSliceHasNoCursor() {
+
+		KeysetSlice<UpsertSample> slice = repository.findSlice(filter(Sort.by("id"), ROWS, null));
+		assertThat(slice.getContent()).hasSize(ROWS);
+		assertThat(slice.hasNext()).isFalse();
+		assertThat(slice.getNextCursor()).isNull();
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		assertThatThrownBy(()->repository.findSlice(filter(Sort.by("id"), 4, "not base64!")))
+				.isInstanceOf(InvalidDataAccessApiUsageException.class);
+	}
+
+	@Test
+	void rejectsCursorOfAnotherSort() {
+
+		String cursor = repository.findSlice(filter(Sort.by("name", "code"), 4, null)).getNextCursor();
+		assertThatThrownBy(()->repository.findSlice(filter(Sort.by("id"), 4, cursor)))
+				.isInstanceOf(InvalidDataAccessApiUsageException.class);
+	}
+
+	@Test
+	void rejectsNonPositiveSize() {
+		assertThatThrownBy(()->repository.findSlice(filter(Sort.by("id"), 0, null)))
+				.isInstanceOf(InvalidDataAccessApiUsageException.class);
+	}
+
+	private List<Long> ids(Sort sort, int size) {
+
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		int slices = 0;
+		do {
+			KeysetSlice<UpsertSample> slice = repository.findSlice(filter(sort, size, cursor));
+			slice.forEach(sample->ids.add(sample.getId()));
+			cursor = slice.getNextCursor();
+			slices++;
+		}
+		while(cursor!=null);
+
+		assertThat(slices).isGreaterThan(2);
+		assertThat(ids).doesNotHaveDuplicates().hasSize(ROWS);
+		return ids;
+	}
+
+	private List<Long> expected(Sort sort) {
+		return repository.findAll(sort).stream().map(UpsertSample::getId).collect(Collectors.toList());
+	}
+
+	private static KeysetFilter<UpsertSample> filter(Sort sort, int size, String cursor) {
+		return new KeysetFilter<UpsertSample>() {
+
+			@Override
+			public Specification<UpsertSample> getSpecification() {
+				return null;
+			}
+
+			@Override
+			public Sort getSort() {
+				return sort;
+			}
+
+			@Override
+			public int getSize() {
+				return size;
+			}
+
+			@Override
+			public String getCursor() {
+				return cursor;
+			}
+		};
+	}
+}
@@ -0,0 +1,69 @@
+package us.jyni.frame.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class QueryCacheTests {
+
+	private final QueryCache cache = new QueryCache(10, Duration.ofMinutes(1));
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void cachesByKey() {
+
+		assertThat(load(()->loads.incrementAndGet())).isEqualTo(1);
+		assertThat(load(()->loads.incrementAndGet())).isEqualTo(1);
+	}
+
+	@Test
+	void dropsResultsLoadedAcrossAClearing() {
+
+		assertThat(load(()->{
+			cache.clear();
+			return loads.incrementAndGet();
+		})).isEqualTo(1);
+		assertThat(load(()->loads.incrementAndGet())).isEqualTo(2);
+	}
+
+	@Test
+	void skipsReadWriteTransactions() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		assertThat(load(()->loads.incrementAndGet())).isEqualTo(1);
+		assertThat(load(()->loads.incrementAndGet())).isEqualTo(2);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(load(()->loads.incrementAndGet())).isEqualTo(3);
+		assertThat(load(()->loads.incrementAndGet())).isEqualTo(3);
+	}
+
+	private Integer load(Supplier<Integer> loader) {
+		return QueryCache.get(cache, new Filter<Object>() {
+
+			@Override
+			public Specification<Object> getSpecification() {
+				return null;
+			}
+
+			@Override
+			public Object getCacheKey() {
+				return "key";
+			}
+		}, loader, "count");
+	}
+}
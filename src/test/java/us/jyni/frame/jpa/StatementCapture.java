@@ -0,0 +1,30 @@
+package us.jyni.frame.jpa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class StatementCapture implements StatementInspector {
+
+	private static final long serialVersionUID = 4127043538717961275L;
+
+	private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+	@Override
+	public String inspect(String sql) {
+		STATEMENTS.add(sql);
+		return sql;
+	}
+
+	static void clear() {
+		STATEMENTS.clear();
+	}
+
+	static List<String> get() {
+		synchronized(STATEMENTS) {
+			return new ArrayList<>(STATEMENTS);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package us.jyni.frame.jpa;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Version;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class UpsertSample extends BaseEntity<Long> {
+
+	private static final long serialVersionUID = -2209841519512871804L;
+
+	private String name;
+
+	@Column(updatable = false)
+	private String code;
+
+	@Version
+	private Long version;
+
+	static UpsertSample of(long id, String name, String code) {
+
+		UpsertSample sample = new UpsertSample();
+		sample.setId(id);
+		sample.setName(name);
+		sample.setCode(code);
+		return sample;
+	}
+}
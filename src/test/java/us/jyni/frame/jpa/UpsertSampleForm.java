@@ -0,0 +1,21 @@
+package us.jyni.frame.jpa;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpsertSampleForm implements UpdatableEntity<UpsertSample> {
+
+	private String name;
+
+	private String code;
+
+	private Long version;
+
+	UpsertSampleForm(String name, String code) {
+		this(name, code, null);
+	}
+}
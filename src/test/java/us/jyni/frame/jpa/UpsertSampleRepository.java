@@ -0,0 +1,5 @@
+package us.jyni.frame.jpa;
+
+public interface UpsertSampleRepository extends GenericRepository<UpsertSample, Long> {
+
+}
@@ -0,0 +1,49 @@
+package us.jyni.frame.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ViewCacheTests {
+
+	private final ViewCache<Long> cache = new ViewCache<>(10, Duration.ofMinutes(1));
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void putsAndGets() {
+
+		cache.put(1L, "one", cache.getGeneration());
+		assertThat(cache.get(1L, String.class)).isEqualTo("one");
+	}
+
+	@Test
+	void dropsPutsLoadedBeforeAnEviction() {
+
+		long generation = cache.getGeneration();
+		cache.evict(List.of(2L));
+		cache.put(1L, "one", generation);
+		assertThat(cache.get(1L, String.class)).isNull();
+	}
+
+	@Test
+	void skipsPutsInReadWriteTransactions() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		cache.put(1L, "one", cache.getGeneration());
+		assertThat(cache.get(1L, String.class)).isNull();
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		cache.put(1L, "one", cache.getGeneration());
+		assertThat(cache.get(1L, String.class)).isEqualTo("one");
+	}
+}